@@ -0,0 +1,65 @@
+package ericghara.week_1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Opens the same random sequence of sites on a fresh grid with the flat grid Percolation
+// and with the boolean[][] / allocating open() it replaced.  Each operation opens all n^2 sites, so
+// per-open cost is the score / n^2.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PercolationOpen {
+
+    @Param({"100", "1000", "4000"})
+    public int n;
+
+    private int[] rows, cols; // every site once, in random order
+
+    @Setup
+    public void setup() {
+        int sites = n * n;
+        rows = new int[sites];
+        cols = new int[sites];
+        for (int i = 0; i < sites; i++) {
+            rows[i] = i / n + 1;
+            cols[i] = i % n + 1;
+        }
+        SplittableRandom rng = new SplittableRandom(42);
+        for (int i = sites - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = rows[i]; rows[i] = rows[j]; rows[j] = tmp;
+            tmp = cols[i]; cols[i] = cols[j]; cols[j] = tmp;
+        }
+    }
+
+    @Benchmark
+    public void Current(Blackhole blackhole) {
+        Object perc = Week1.newPercolation(n);
+        for (int i = 0; i < rows.length; i++) {
+            Week1.open(perc, rows[i], cols[i]);
+        }
+        blackhole.consume(perc);
+    }
+
+    @Benchmark
+    public void Baseline(Blackhole blackhole) {
+        PercolationBaseline perc = new PercolationBaseline(n);
+        for (int i = 0; i < rows.length; i++) {
+            perc.open(rows[i], cols[i]);
+        }
+        blackhole.consume(perc);
+    }
+
+}
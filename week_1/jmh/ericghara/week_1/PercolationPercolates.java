@@ -0,0 +1,62 @@
+package ericghara.week_1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latency of percolates() on a grid opened up to just below the percolation threshold, where a
+// trial spends most of its polling.  Baseline answers with two finds against virtual nodes.
+// Exactly OPEN_FRACTION of the sites are opened, taken from a seeded random permutation so no site
+// is drawn twice.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PercolationPercolates {
+
+    private static final double OPEN_FRACTION = 0.55;
+
+    @Param({"100", "1000", "4000"})
+    public int n;
+
+    private Object current;
+    private PercolationBaseline baseline;
+
+    @Setup
+    public void setup() {
+        current = Week1.newPercolation(n);
+        baseline = new PercolationBaseline(n);
+        SplittableRandom rng = new SplittableRandom(42);
+        int[] sites = new int[n * n];
+        for (int i = 0; i < sites.length; i++) { sites[i] = i; }
+        int opens = (int) (OPEN_FRACTION * sites.length);
+        for (int i = 0; i < opens; i++) { // first opens steps of a Fisher-Yates shuffle
+            int j = rng.nextInt(i, sites.length);
+            int site = sites[j];
+            sites[j] = sites[i];
+            sites[i] = site;
+            int row = site / n + 1, col = site % n + 1;
+            Week1.open(current, row, col);
+            baseline.open(row, col);
+        }
+    }
+
+    @Benchmark
+    public boolean Current() {
+        return Week1.percolates(current);
+    }
+
+    @Benchmark
+    public boolean Baseline() {
+        return baseline.percolates();
+    }
+
+}
@@ -0,0 +1,49 @@
+package ericghara.week_1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+// Wall time of a whole PercolationStats run: TRIALS trials on an n x n grid, single threaded and on
+// every core, for each sampling mode.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PercolationStatsEndToEnd {
+
+    private static final int TRIALS = 16;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    @Param({"100", "1000", "4000"})
+    public int n;
+
+    @Param({"UNIFORM", "PERMUTATION"})
+    public String sampling;
+
+    private Object mode;
+
+    @Setup
+    public void setup() {
+        mode = Week1.sampling(sampling);
+    }
+
+    @Benchmark
+    public void SingleThread(Blackhole blackhole) {
+        blackhole.consume(Week1.mean(Week1.newPercolationStats(n, TRIALS, 42, 1, mode, 2)));
+    }
+
+    @Benchmark
+    public void AllCores(Blackhole blackhole) {
+        blackhole.consume(Week1.mean(Week1.newPercolationStats(n, TRIALS, 42, CORES, mode, 2)));
+    }
+
+}
@@ -0,0 +1,97 @@
+package ericghara.week_1;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// week_1 sources live in the default package, which can't be imported from a named package, and JMH
+// refuses benchmarks in the default package.  These handles bridge the gap.  They are static final so
+// the JIT constant folds them and a call through one costs the same as a direct call.
+final class Week1 {
+
+    private static final MethodHandle NEW_PERCOLATION; // (int) -> Percolation
+    private static final MethodHandle OPEN;            // (Percolation, int, int) -> void
+    private static final MethodHandle PERCOLATES;      // (Percolation) -> boolean
+    private static final MethodHandle NEW_STATS;       // (n, trials, seed, threads, Sampling, dimensions) -> PercolationStats
+    private static final MethodHandle MEAN;            // (PercolationStats) -> double
+    private static final Class<?> SAMPLING;            // PercolationStats.Sampling
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> percolation = Class.forName("Percolation");
+            NEW_PERCOLATION = lookup.findConstructor(percolation, MethodType.methodType(void.class, int.class))
+                    .asType(MethodType.methodType(Object.class, int.class));
+            OPEN = lookup.findVirtual(percolation, "open", MethodType.methodType(void.class, int.class, int.class))
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, int.class));
+            PERCOLATES = lookup.findVirtual(percolation, "percolates", MethodType.methodType(boolean.class))
+                    .asType(MethodType.methodType(boolean.class, Object.class));
+            Class<?> stats = Class.forName("PercolationStats");
+            SAMPLING = Class.forName("PercolationStats$Sampling");
+            NEW_STATS = lookup.findConstructor(stats, MethodType.methodType(void.class,
+                            int.class, int.class, long.class, int.class, SAMPLING, int.class))
+                    .asType(MethodType.methodType(Object.class,
+                            int.class, int.class, long.class, int.class, Object.class, int.class));
+            MEAN = lookup.findVirtual(stats, "mean", MethodType.methodType(double.class))
+                    .asType(MethodType.methodType(double.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Week1() {}
+
+    static Object newPercolation(int n) {
+        try {
+            return (Object) NEW_PERCOLATION.invokeExact(n);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void open(Object percolation, int row, int col) {
+        try {
+            OPEN.invokeExact(percolation, row, col);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static boolean percolates(Object percolation) {
+        try {
+            return (boolean) PERCOLATES.invokeExact(percolation);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // PercolationStats.Sampling constant with the given name
+    static Object sampling(String name) {
+        for (Object constant : SAMPLING.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(name)) { return constant; }
+        }
+        throw new IllegalArgumentException("No Sampling constant " + name);
+    }
+
+    static Object newPercolationStats(int n, int trials, long seed, int threads, Object sampling, int dimensions) {
+        try {
+            return (Object) NEW_STATS.invokeExact(n, trials, seed, threads, sampling, dimensions);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static double mean(Object stats) {
+        try {
+            return (double) MEAN.invokeExact(stats);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) { return (RuntimeException) t; }
+        if (t instanceof Error) { throw (Error) t; }
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,134 @@
+import edu.princeton.cs.algs4.StdStats;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Percolation for grids far too large to hold in memory (n in the tens of thousands, n^2 past int range).
+// Every site (row, col) gets a uniform random value u drawn in row-major order from a SplittableRandom
+// seeded with seed, and is open at occupation probability p when u < p.  Rather than storing the grid,
+// percolates(p) regenerates it one row at a time, Hoshen-Kopelman style: only a band of two rows is held
+// in union find, as component labels, and each label remembers if its component reaches the top row.
+// Paths that wander up and back down are accounted for because they merge labels of the row above.
+// The system percolates if a top-connected label survives to the bottom row; if every top-connected
+// label dies out the answer is known early and the remaining rows aren't generated.
+// Percolation is monotone in p for a fixed grid, so threshold() bisects on p.
+// time O: percolates: n^2 (or less), threshold: n^2 log(1/tolerance)
+// space O: n
+
+public class BandPercolation {
+    private static final byte TOP = 1; // label's component connects to the top row
+
+    private final int n;  // dimmensions of grid (n x n)
+    private final long seed;
+    // union find over the labels of the previous row [0, n) and the current row [n, 2n)
+    private final int[] parent;
+    private final byte[] flags;
+    private int[] label, nextLabel;   // label of each site in the previous/current row, -1 if closed
+    private final int[] compact;      // union find root -> label in the next row, -1 if not yet assigned
+    private final byte[] labelFlags;  // flags of each compacted label
+
+    public BandPercolation(int n, long seed) {
+        if (n <= 0)
+            throw new IllegalArgumentException("Invalid input: Grid size must be > 0");
+        this.n = n;
+        this.seed = seed;
+        this.parent = new int[2 * n];
+        this.flags = new byte[2 * n];
+        this.label = new int[n];
+        this.nextLabel = new int[n];
+        this.compact = new int[2 * n];
+        this.labelFlags = new byte[n];
+    }
+
+    // does the grid percolate when sites with u < p are open?
+    public boolean percolates(double p) {
+        if (!(p >= 0 && p <= 1))
+            throw new IllegalArgumentException("p must lie between 0 and 1");
+        SplittableRandom rng = new SplittableRandom(seed);  // same seed -> same grid on every call
+        Arrays.fill(label, -1);
+        for (int row = 0; row < n; row++) {
+            for (int i = 0; i < 2 * n; i++) { parent[i] = i; flags[i] = 0; }
+            for (int l = 0; l < n; l++) flags[l] = labelFlags[l];
+            for (int col = 0; col < n; col++) {
+                if (rng.nextDouble() >= p) { nextLabel[col] = -1; continue; }
+                int site = n + col;
+                nextLabel[col] = site;
+                if (row == 0)                     flags[site] = TOP;
+                if (col > 0 && nextLabel[col - 1] >= 0) union(site - 1, site);  // left
+                if (label[col] >= 0)                    union(label[col], site); // up
+            }
+            if (!compact()) return false;  // no top-connected component left
+        }
+        return true;
+    }
+
+    // relabels the current row's components as 0, 1, ... and makes it the previous row.
+    // returns whether any of its components still connects to the top
+    private boolean compact() {
+        Arrays.fill(compact, -1);
+        int labels = 0;
+        boolean alive = false;
+        for (int col = 0; col < n; col++) {
+            if (nextLabel[col] < 0) continue;
+            int root = find(nextLabel[col]);
+            if (compact[root] < 0) {
+                compact[root] = labels;
+                labelFlags[labels++] = flags[root];
+                alive |= flags[root] == TOP;
+            }
+            nextLabel[col] = compact[root];
+        }
+        int[] tmp = label; label = nextLabel; nextLabel = tmp;
+        return alive;
+    }
+
+    private int find(int p) {
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];  // path halving
+            p = parent[p];
+        }
+        return p;
+    }
+
+    private void union(int p, int q) {
+        int rootP = find(p), rootQ = find(q);
+        if (rootP == rootQ) return;
+        parent[rootQ] = rootP;
+        flags[rootP] |= flags[rootQ];
+    }
+
+    // smallest p at which the grid percolates, to within tolerance
+    public double threshold(double tolerance) {
+        if (!(tolerance > 0))
+            throw new IllegalArgumentException("tolerance must be > 0");
+        double lo = 0, hi = 1;  // does not percolate at lo, percolates at hi (all sites open)
+        while (hi - lo > tolerance) {
+            double mid = (lo + hi) / 2;
+            if (percolates(mid)) hi = mid;
+            else lo = mid;
+        }
+        return (lo + hi) / 2;
+    }
+
+    // test client: n T [seed] [tolerance]; prints threshold stats over T grids
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 4)
+            throw new IllegalArgumentException("Improper arguments: input n and T (optionally seed and tolerance) separated by a space");
+        int n = Integer.valueOf(args[0]);
+        int T = Integer.valueOf(args[1]);
+        long seed = args.length >= 3 ? Long.valueOf(args[2]) : System.nanoTime();
+        double tolerance = args.length == 4 ? Double.valueOf(args[3]) : 1e-6;
+        SplittableRandom seeds = new SplittableRandom(seed);
+        double[] results = new double[T];
+        long start = System.nanoTime();
+        for (int t = 0; t < T; t++)
+            results[t] = new BandPercolation(n, seeds.nextLong()).threshold(tolerance);
+        double mean = StdStats.mean(results), stddev = StdStats.stddev(results);
+        System.out.printf("%1$-24s=", "mean");
+        System.out.println(mean);
+        System.out.printf("%1$-24s=", "stdev");
+        System.out.println(stddev);
+        System.out.printf("%1$-24s= [%2$f,%3$f]%n", "95% confidence interval",
+                mean - 1.96 * stddev / Math.sqrt(T), mean + 1.96 * stddev / Math.sqrt(T));
+        System.out.printf("%1$-24s= %2$.1fs%n", "elapsed", (System.nanoTime() - start) / 1e9);
+    }
+}
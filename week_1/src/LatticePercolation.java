@@ -0,0 +1,139 @@
+// Percolation through a d-dimensional cubic lattice of n^d sites (n x n x n for d = 3).  Axis 0 runs from
+// top to bottom: sites with coordinate 1 on it touch the top and sites with coordinate n the bottom.
+// Sites are flattened row-major with axis 0 most significant, so the neighbors of a site along axis i
+// are +/- stride[i] away, and the same per-root TOP/BOTTOM flagged union find as Percolation is used,
+// including its O(1) cluster instrumentation.
+// time O: constructor: n^d, open: d (amortized), isFull: ~1 (amortized), percolates 1
+// space O: n^d  (one int and one byte per site)
+
+public class LatticePercolation implements PercolationSystem {
+    private final PercolationUF uf; // union find, also records which sites are open
+    private final int n;            // sites along each axis
+    private final int[] stride;     // flat index distance between neighbors along each axis
+    private final int[] nbrs;       // scratch: open neighbors of the site being opened
+    private int numOpen = 0;        // number of open sites
+    private boolean percolates = false; // set once any component spans top to bottom
+    private int percolatedAfter = -1;             // numOpen when the system first percolated
+    private int largestAtPercolation = -1;        // largest cluster when the system first percolated
+    private int clustersAtPercolation = -1;       // number of clusters when the system first percolated
+
+    // creates an n^d lattice, with all sites initially blocked
+    public LatticePercolation(int n, int d) {
+        if (n <= 0 || d <= 0)
+            throw new IllegalArgumentException("Invalid input: Grid size and dimensions must be > 0");
+        long sites = 1;
+        this.stride = new int[d];
+        for (int axis = d - 1; axis >= 0; axis--) {
+            this.stride[axis] = (int) sites;
+            sites *= n;
+            if (sites > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Invalid input: n^d must fit in an int");
+        }
+        this.n = n;
+        this.uf = new PercolationUF((int) sites);
+        this.nbrs = new int[2 * d];
+    }
+
+    // number of sites (n^d); flattened sites are numbered 0 .. sites()-1
+    public int sites() { return uf.sites(); }
+
+    // number of dimensions
+    public int dimensions() { return stride.length; }
+
+    private int flatten(int[] coords) {
+        if (coords == null || coords.length != stride.length)
+            throw new IllegalArgumentException("Invalid input: expected " + stride.length + " coordinates.");
+        int site = 0;
+        for (int axis = 0; axis < coords.length; axis++) {
+            if (coords[axis] < 1 || coords[axis] > this.n)
+                throw new IllegalArgumentException("Invalid input: coordinates must lie between 1 and n.");
+            site += (coords[axis] - 1) * stride[axis];
+        }
+        return site;
+    }
+
+    // opens the site at coords (1 based, one per axis) if it is not open already
+    public void open(int... coords) {
+        openSite(flatten(coords));
+    }
+
+    // opens the flattened site if it is not open already; see Percolation.openSite
+    public boolean openSite(int site) {
+        if (site < 0 || site >= sites())
+            throw new IllegalArgumentException("Invalid input: site must lie between 0 and n^d - 1.");
+        if (uf.isOpen(site)) return false;
+        byte edges = 0;
+        int open = 0;
+        for (int axis = 0; axis < stride.length; axis++) {
+            int coord = site / stride[axis] % this.n; // 0 based
+            if (axis == 0) {
+                if (coord == 0)          edges |= PercolationUF.TOP;
+                if (coord == this.n - 1) edges |= PercolationUF.BOTTOM;
+            }
+            if (coord > 0 && uf.isOpen(site - stride[axis]))          nbrs[open++] = site - stride[axis];
+            if (coord < this.n - 1 && uf.isOpen(site + stride[axis])) nbrs[open++] = site + stride[axis];
+        }
+        this.uf.open(site, edges);
+        this.numOpen += 1;
+        int seen = 0; // bit f set if a neighboring component had TOP/BOTTOM flags f; read before any union
+        for (int i = 0; i < open; i++)
+            seen |= 1 << (uf.flags(nbrs[i]) & PercolationUF.SPANS);
+        int root = site;
+        for (int i = 0; i < open; i++)
+            root = this.uf.union(nbrs[i], root);
+        int connectivity = uf.flags(root) & PercolationUF.SPANS;
+        if (connectivity == PercolationUF.SPANS && !this.percolates) {
+            this.percolates = true;
+            this.percolatedAfter = this.numOpen;
+            this.largestAtPercolation = uf.largest();
+            this.clustersAtPercolation = uf.components();
+        }
+        return seen == 0 ? connectivity != 0 : (seen & (1 << connectivity)) == 0;
+    }
+
+    // is the site at coords open?
+    public boolean isOpen(int... coords) {
+        return uf.isOpen(flatten(coords));
+    }
+
+    // is the site at coords full?
+    public boolean isFull(int... coords) {
+        int site = flatten(coords);
+        return uf.isOpen(site) && (uf.flags(site) & PercolationUF.TOP) != 0;
+    }
+
+    // returns the number of open sites
+    public int numberOfOpenSites() {
+        return this.numOpen;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return this.percolates;
+    }
+
+    // number of open sites when the system first percolated, -1 if it doesn't percolate yet
+    public int percolatedAfter() {
+        return this.percolatedAfter;
+    }
+
+    // number of clusters (components of open sites)
+    public int clusters() {
+        return uf.components();
+    }
+
+    // number of sites in the largest cluster
+    public int largestCluster() {
+        return uf.largest();
+    }
+
+    // number of clusters when the system first percolated, -1 if it doesn't percolate yet
+    public int clustersAtPercolation() {
+        return this.clustersAtPercolation;
+    }
+
+    // number of sites in the largest cluster when the system first percolated, -1 if it doesn't percolate yet
+    public int largestClusterAtPercolation() {
+        return this.largestAtPercolation;
+    }
+}
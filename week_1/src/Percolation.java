@@ -1,45 +1,43 @@
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
 import edu.princeton.cs.algs4.StdIn;
-// import java.util.Arrays;  // disable for submission, uncomment for testing along with array printing in main
 
 // This class implements an API that allows modeling percolation through a 2d system as an n x n grid. sites
 // are either open (porous) or closed (nonporous). A weighted quick union algorithm/data structure
-// allows connected components to be merged and found.  Percolation is determined by assessing
-// connectivity between any site at the bottom of the grid to any site at the top of the grid.
-// time O: constructor: n, union: log(n), find log(n)
-// space O: n
-
-public class Percolation {
-    private WeightedQuickUnionUF uf; //union find
-    private boolean [] [] oGrid; // open grid
-    private final int start, finish; // virtual start & end node
+// allows connected components to be merged and found.  Each component root records whether the
+// component touches the top and/or bottom row (see PercolationUF), so a site is full when its root
+// touches the top and the system percolates as soon as any root touches both.  No virtual nodes
+// means no backwash and n = 1 works.  The union find also counts clusters and tracks the largest one,
+// so the open at which the system first percolated and the clusters at that moment are recorded in O(1).
+// time O: constructor: n, open: ~1 (amortized), isFull: ~1 (amortized), percolates 1
+// space O: n  (one int and one byte per site)
+
+public class Percolation implements PercolationSystem {
+    private PercolationUF uf; // union find, also records which sites are open
     private final int n; // dimmensions of grid (n x n)
     private int numOpen = 0;  // number of open sites
+    private boolean percolates = false; // set once any component spans top to bottom
+    private int percolatedAfter = -1;             // numOpen when the system first percolated
+    private int largestAtPercolation = -1;        // largest cluster when the system first percolated
+    private int clustersAtPercolation = -1;       // number of clusters when the system first percolated
 
     // constructor - creates n-by-n grid, with all sites initially blocked
     public Percolation(int n) {
         if (n <= 0) 
             throw new IllegalArgumentException("Invalid input: Grid size must be > 0");
         this.n = n;
-        this.uf = new WeightedQuickUnionUF(n*n+2);
-        this.oGrid = new boolean[n][n];
-        this.start = n * n;
-        this.finish = n * n + 1;
-        int fRow = n * (n - 1); // first item of finish row
-        for (int col = 0; col < n; col ++) {  // connect all sites in start & end rows to start & finish virtual sites
-            this.uf.union(0 + col, this.start);
-            this.uf.union(fRow + col, this.finish);
-        }   
-    }
-
-    private boolean valid(int row, int col, boolean silent) {
-        if (row < 1 || row > this.n || col < 1 ||col > this.n) {
-            if (silent) 
-                return false;
-            else
-                throw new IllegalArgumentException("Invalid input: coordinates must lie between 1 and n.");
-        } 
-        return true;
+        this.uf = new PercolationUF(n*n);
+    }
+
+    // number of sites (n * n); flattened sites are numbered 0 .. sites()-1, row by row
+    public int sites() { return this.n * this.n; }
+
+    private void validate(int row, int col) {
+        if (row < 1 || row > this.n || col < 1 ||col > this.n)
+            throw new IllegalArgumentException("Invalid input: coordinates must lie between 1 and n.");
+    }
+
+    private void validate(int site) {
+        if (site < 0 || site >= sites())
+            throw new IllegalArgumentException("Invalid input: site must lie between 0 and n*n - 1.");
     }
     
     //converts from row x col to linear
@@ -50,34 +48,64 @@ public class Percolation {
     
     // opens the site (row, col) if it is not open already
     public void open(int row, int col) {
-        if (isOpen(row, col)) return;
-        this.oGrid[row-1][col-1] = true;
+        validate(row, col);
+        openValid(flatten(row, col));
+    }
+
+    // opens the flattened site if it is not open already.  The index is validated once here; neighbors
+    // are then checked inline against the flat grid so no re-validation and no allocation per call.
+    // returns true if the open changed top/bottom connectivity, ie the resulting component's TOP/BOTTOM flags
+    // match none of the components it merged (or it joined none and touches an edge).  The system can only
+    // start percolating on an open that returns true.
+    public boolean openSite(int site) {
+        validate(site);
+        return openValid(site);
+    }
+
+    // openSite() for a site already known to be on the grid; open() has checked (row, col) instead
+    private boolean openValid(int site) {
+        if (uf.isOpen(site)) return false;
+        int row = site / this.n, col = site - row * this.n; // 0 based
+        byte edges = 0;
+        if (row == 0)          edges |= PercolationUF.TOP;
+        if (row == this.n - 1) edges |= PercolationUF.BOTTOM;
+        this.uf.open(site, edges);
         this.numOpen +=1;
-        int[][] neighbors = { {row+1, col}, {row-1, col}, {row, col+1}, {row, col-1} };
-        for (int[] nbr : neighbors) {
-            if (isOpen(nbr[0], nbr[1], true))
-                this.uf.union(flatten(nbr[0], nbr[1]), flatten(row, col));     
+        boolean up    = row > 0 && uf.isOpen(site - n);
+        boolean down  = row < this.n - 1 && uf.isOpen(site + n);
+        boolean left  = col > 0 && uf.isOpen(site - 1);
+        boolean right = col < this.n - 1 && uf.isOpen(site + 1);
+        int seen = 0; // bit f set if a neighboring component had TOP/BOTTOM flags f; read before any union
+        if (up)    seen |= 1 << (uf.flags(site - n) & PercolationUF.SPANS);
+        if (down)  seen |= 1 << (uf.flags(site + n) & PercolationUF.SPANS);
+        if (left)  seen |= 1 << (uf.flags(site - 1) & PercolationUF.SPANS);
+        if (right) seen |= 1 << (uf.flags(site + 1) & PercolationUF.SPANS);
+        int root = site;
+        if (up)    root = this.uf.union(site - n, root);
+        if (down)  root = this.uf.union(site + n, root);
+        if (left)  root = this.uf.union(site - 1, root);
+        if (right) root = this.uf.union(site + 1, root);
+        int connectivity = uf.flags(root) & PercolationUF.SPANS;
+        if (connectivity == PercolationUF.SPANS && !this.percolates) {
+            this.percolates = true;
+            this.percolatedAfter = this.numOpen;
+            this.largestAtPercolation = uf.largest();
+            this.clustersAtPercolation = uf.components();
         }
+        return seen == 0 ? connectivity != 0 : (seen & (1 << connectivity)) == 0;
     }
 
 
     // is the site (row, col) open?
     public boolean isOpen(int row, int col) {
-        if (valid(row, col, false) && oGrid[row-1][col-1]) return true;
-        return false;
-    }
-
-    // overloaded isOpen allows for exception free checking
-    private boolean isOpen(int row, int col, boolean silent) {
-        if (valid(row, col, silent) && oGrid[row-1][col-1]) return true;
-        return false;
+        validate(row, col);
+        return uf.isOpen(flatten(row, col));
     }
     
 
     // is the site (row, col) full?
     public boolean isFull(int row, int col) {
-        if (isOpen(row, col) && uf.find(this.start) == uf.find(this.flatten(row, col))) return true;
-        return false;
+        return isOpen(row, col) && (uf.flags(flatten(row, col)) & PercolationUF.TOP) != 0;
     }
 
     // returns the number of open sites
@@ -87,8 +115,33 @@ public class Percolation {
 
     // does the system percolate?
     public boolean percolates() {
-        return uf.find(this.start) ==  uf.find(this.finish); // known bug - if n = 1 system always percolates 
-    }                                                        // due to way virtual beginning and end nodes are implemented
+        return this.percolates;
+    }
+
+    // number of open sites when the system first percolated, -1 if it doesn't percolate yet
+    public int percolatedAfter() {
+        return this.percolatedAfter;
+    }
+
+    // number of clusters (components of open sites)
+    public int clusters() {
+        return uf.components();
+    }
+
+    // number of sites in the largest cluster
+    public int largestCluster() {
+        return uf.largest();
+    }
+
+    // number of clusters when the system first percolated, -1 if it doesn't percolate yet
+    public int clustersAtPercolation() {
+        return this.clustersAtPercolation;
+    }
+
+    // number of sites in the largest cluster when the system first percolated, -1 if it doesn't percolate yet
+    public int largestClusterAtPercolation() {
+        return this.largestAtPercolation;
+    }
 
     // test client
     public static void main(String[] args) {
@@ -104,11 +157,13 @@ public class Percolation {
                 else
                     throw new IllegalArgumentException("Couldn't parse input -- caught an improperly formatted line");
             }
-            // for (boolean[] line : Perc.oGrid)  // enable for testing but not submission
-                // System.out.println(Arrays.toString(line));
             System.out.printf("System Percolates: %1$b%n", Perc.percolates());
             System.out.printf("1 1 is full (connects to start)? %1$b %n%2$d %2$d is full? %3$b%n", Perc.isFull(1,1), Perc.n, Perc.isFull(Perc.n, Perc.n));
             System.out.printf("number open: %1$d%n", Perc.numberOfOpenSites());
+            System.out.printf("clusters: %1$d, largest: %2$d%n", Perc.clusters(), Perc.largestCluster());
+            if (Perc.percolates())
+                System.out.printf("percolated after %1$d opens with %2$d clusters, largest: %3$d%n",
+                        Perc.percolatedAfter(), Perc.clustersAtPercolation(), Perc.largestClusterAtPercolation());
 
         }
     }
@@ -0,0 +1,120 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+// Replays recorded open sequences (the week_1/testing format: n on the first line, then one "row col"
+// pair per line, # starts a comment) into a Percolation.  Input is tokenized straight from bytes out of
+// a large buffer, so no String, regex or boxed Integer is made per line and replaying millions of
+// opens is bound by Percolation rather than by parsing.
+// time O: replay: bytes of input + cost of the opens
+// space O: 1 beyond the Percolation itself
+
+public class PercolationReader {
+    private static final int EOF = -1;
+    private final InputStream in;
+    private final byte[] buf = new byte[1 << 16];
+    private int pos = 0, len = 0;   // next unread byte and end of valid bytes in buf
+    private int line = 1;           // line of the next unread byte, for error messages and pair checks
+    private long bytesRead = 0;
+    private long opens = 0;         // number of open() calls replayed
+
+    public PercolationReader(InputStream in) {
+        if (in == null)
+            throw new IllegalArgumentException("Received null input.");
+        this.in = in;
+    }
+
+    // reads n and every pair that follows, opening each site as it is read
+    public Percolation replay() {
+        if (!hasNext())
+            throw new IllegalArgumentException("Couldn't parse input -- no grid size given");
+        Percolation perc = new Percolation(nextInt());
+        while (hasNext()) {
+            int pairLine = line;
+            int row = nextInt();
+            if (!hasNext() || line != pairLine)
+                throw formatError(pairLine);
+            int col = nextInt();
+            if (hasNext() && line == pairLine)
+                throw formatError(pairLine);
+            perc.open(row, col);
+            opens++;
+        }
+        return perc;
+    }
+
+    // number of sites opened by replay (including repeats of already open sites)
+    public long opens() { return opens; }
+
+    // number of bytes consumed from the input
+    public long bytesRead() { return bytesRead; }
+
+    private IllegalArgumentException formatError(int atLine) {
+        return new IllegalArgumentException("Couldn't parse input -- caught an improperly formatted line: " + atLine);
+    }
+
+    // next byte without consuming it, or EOF
+    private int peek() {
+        if (pos == len) {
+            try {
+                len = in.read(buf, 0, buf.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+            if (len <= 0) { len = 0; return EOF; }
+            bytesRead += len;
+        }
+        return buf[pos];
+    }
+
+    // skips whitespace and # comments; true if a token follows
+    private boolean hasNext() {
+        for (int b = peek(); b != EOF; b = peek()) {
+            if (b == '#') {
+                while (b != EOF && b != '\n') { pos++; b = peek(); }
+            }
+            else if (b <= ' ') {
+                if (b == '\n') line++;
+                pos++;
+            }
+            else return true;
+        }
+        return false;
+    }
+
+    // parses the non-negative int at the current position
+    private int nextInt() {
+        int tokenLine = line;
+        long val = 0;
+        int digits = 0;
+        for (int b = peek(); b != EOF && b > ' ' && b != '#'; b = peek()) {
+            if (b < '0' || b > '9' || (val = val * 10 + (b - '0')) > Integer.MAX_VALUE)
+                throw formatError(tokenLine);
+            digits++;
+            pos++;
+        }
+        if (digits == 0) throw formatError(tokenLine);
+        return (int) val;
+    }
+
+    // test client: replays the file named by args[0] (or standard input) and reports ingest throughput
+    public static void main(String[] args) throws IOException {
+        InputStream in = args.length > 0 ? new FileInputStream(args[0]) : System.in;
+        try {
+            PercolationReader reader = new PercolationReader(in);
+            long start = System.nanoTime();
+            Percolation perc = reader.replay();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("System Percolates: %1$b%n", perc.percolates());
+            System.out.printf("number open: %1$d%n", perc.numberOfOpenSites());
+            System.out.printf("ingested %1$d opens (%2$.1f MB) in %3$.3fs: %4$.0f opens/s, %5$.1f MB/s%n",
+                    reader.opens(), reader.bytesRead() / 1e6, seconds,
+                    reader.opens() / seconds, reader.bytesRead() / 1e6 / seconds);
+        }
+        finally {
+            in.close();
+        }
+    }
+}
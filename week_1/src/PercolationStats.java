@@ -1,32 +1,172 @@
 import edu.princeton.cs.algs4.StdRandom;
 import edu.princeton.cs.algs4.StdStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 //import java.util.*;
 
-// Runs 2d percolation experiments and determines percolation threshold
-// by randomly opening sites on an initially all closed grid/matrix.
+// Runs 2d (or, through LatticePercolation, d-dimensional) percolation experiments and determines
+// percolation threshold by randomly opening sites on an initially all closed grid/matrix.
 // % open sites at time system percolates is percolation threshold of
 // that run.  Experiments are repeated t times to estimate percolation
-// threshold.
+// threshold.  Trials are independent so they are spread across a fixed pool of
+// worker threads.  Every trial gets its own SplittableRandom, split off of a single
+// seed in trial order, so a given seed produces the same results regardless of the
+// number of threads used.
+// Sites are either drawn uniformly (repeats of already open sites are redrawn) or, in
+// PERMUTATION mode, taken from a Fisher-Yates shuffle of all n^d sites so no draw is wasted.
+// Either way the open sites after k distinct opens are a uniformly random k-subset, so the
+// number of opens at which each trial first spans is kept too.  Convolving those counts with
+// the binomial distribution (Newman & Ziff) gives the spanning probability P(p) at any p from
+// the same trials; see spanningProbability().
 
 public class PercolationStats {
-    private double[] results; // note this is filled in from end to beginning by PercolationStats
-    private int totalSites;
+    private double[] results; // threshold of each trial, indexed by trial number
+    private int[] spans; // number of open sites when each trial first percolated, sorted ascending once all trials finish
     private final double Z = 1.96; // confidence level value (used for confidence interval calc)
+    private final int n;  // grid is n x n (x n ...)
+    private final int dimensions;
+    private final int sites; // n^dimensions
+    private final Sampling sampling;
+    public static final int CURVE_STEPS = 100; // spanningCurve() evaluates P(p) at p = 0, 1/CURVE_STEPS, ..., 1
+    private static final double NEGLIGIBLE = 1e-17; // binomial terms below this fraction of the mode term are dropped
+
+    // how a trial picks the next site to open
+    public enum Sampling {
+        UNIFORM,     // row & col drawn uniformly; draws that land on an open site are wasted
+        PERMUTATION  // sites opened in the order of a per-trial Fisher-Yates shuffle; every draw opens a site
+    }
+
     // perform independent trials on an n-by-n grid
     public PercolationStats(int n, int trials) {
+        // seed drawn from StdRandom so StdRandom.setSeed() still makes runs reproducible
+        this(n, trials, StdRandom.uniform(Long.MAX_VALUE), Runtime.getRuntime().availableProcessors());
+    }
+
+    // perform independent trials on an n-by-n grid using up to threads workers
+    public PercolationStats(int n, int trials, long seed, int threads) {
+        this(n, trials, seed, threads, Sampling.UNIFORM);
+    }
+
+    // perform independent trials on an n-by-n grid using up to threads workers, picking sites by sampling
+    public PercolationStats(int n, int trials, long seed, int threads, Sampling sampling) {
+        this(n, trials, seed, threads, sampling, 2);
+    }
+
+    // perform independent trials on an n^dimensions lattice using up to threads workers, picking sites by sampling
+    public PercolationStats(int n, int trials, long seed, int threads, Sampling sampling, int dimensions) {
         if (n < 1 || trials < 1) 
             throw new IllegalArgumentException("Both grid size and number of trials must be >1");
+        if (dimensions < 1)
+            throw new IllegalArgumentException("Number of dimensions must be >= 1");
+        if (Math.pow(n, dimensions) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Lattice too large: n^dimensions must fit in an int");
+        if (threads < 1)
+            throw new IllegalArgumentException("Number of threads must be >= 1");
+        if (sampling == null)
+            throw new IllegalArgumentException("Sampling mode must not be null");
+        this.n = n;
+        this.dimensions = dimensions;
+        this.sites = (int) Math.round(Math.pow(n, dimensions));
+        this.sampling = sampling;
         this.results = new double[trials];
-        this.totalSites = n * n;
-        for (int t = 0; t < trials; t++) {
-            Percolation percExp = new Percolation(n);    
-            while ( !percExp.percolates() ) {
-                percExp.open( StdRandom.uniform(1,n+1), StdRandom.uniform(1,n+1));      // since we are relying on numberOfOpen sites to count
+        this.spans = new int[trials];
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rngs = new SplittableRandom[trials];
+        for (int t = 0; t < trials; t++)  // split in trial order; independent of which worker runs trial t
+            rngs[t] = root.split();
+        threads = Math.min(threads, trials);
+        if (threads == 1) {
+            int[] order = newOrder();
+            for (int t = 0; t < trials; t++)
+                record(t, trial(rngs[t], order));
+        }
+        else
+            runParallel(rngs, threads);
+        Arrays.sort(spans);  // only the distribution of spans is used; trial order doesn't matter
+    }
+
+    // workers pull the next unrun trial index until all trials are done.  Each trial writes
+    // only its own slot of results, and Future.get() publishes those writes to this thread.
+    private void runParallel(final SplittableRandom[] rngs, int threads) {
+        final AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int w = 0; w < threads; w++) {
+                workers.add(pool.submit(new Runnable() {
+                    public void run() {
+                        int[] order = newOrder();  // scratch reused by all of this worker's trials
+                        for (int t = next.getAndIncrement(); t < rngs.length; t = next.getAndIncrement())
+                            record(t, trial(rngs[t], order));
+                    }
+                }));
             }
-            results[t] = (double) percExp.numberOfOpenSites()/ this.totalSites;              // we will not count repeat openings of same site
+            for (Future<?> f : workers)
+                f.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for trials to finish", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A percolation trial failed", e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
         }
     }
 
+    // stores the outcome of trial t, which percolated once opened sites were open
+    private void record(int t, int opened) {
+        spans[t] = opened;
+        results[t] = (double) opened / sites;
+    }
+
+    // per worker scratch for PERMUTATION trials
+    private int[] newOrder() {
+        return sampling == Sampling.PERMUTATION ? new int[sites] : null;
+    }
+
+    // a fresh, all blocked system to run a trial on
+    private PercolationSystem newSystem() {
+        return dimensions == 2 ? new Percolation(n) : new LatticePercolation(n, dimensions);
+    }
+
+    // opens random sites on a fresh grid until it percolates; returns number of sites open when it did
+    private int trial(SplittableRandom rng, int[] order) {
+        PercolationSystem percExp = newSystem();
+        if (sampling == Sampling.PERMUTATION) {
+            for (int i = 0; i < sites; i++)  // reset so a trial's order depends only on its own rng
+                order[i] = i;
+            // Fisher-Yates, one step per open: stops as soon as the system percolates rather than
+            // shuffling sites that will never be opened.  percolates() can only flip on an open
+            // that changed top/bottom connectivity
+            for (int i = 0; i < sites; i++) {
+                int j = i + rng.nextInt(sites - i);
+                int site = order[j];
+                order[j] = order[i];
+                order[i] = site;
+                if (percExp.openSite(site) && percExp.percolates()) break;
+            }
+        }
+        else {
+            int site;
+            do {
+                site = 0;
+                for (int axis = 0; axis < dimensions; axis++)  // one coordinate per axis, row first
+                    site = site * n + rng.nextInt(n);
+            } while ( !(percExp.openSite(site) && percExp.percolates()) );  // repeat openings of a site return false
+        }
+        return percExp.percolatedAfter();
+    }
+
     // sample mean of percolation threshold
     public double mean() {
         return StdStats.mean(this.results);
@@ -48,15 +188,73 @@ public class PercolationStats {
         return mean() + (this.Z * stddev() / Math.sqrt(this.results.length));
     }
 
+    // Newman-Ziff estimate of the probability that a grid with each site open with probability p percolates.
+    // A trial's configuration after k opens is a uniform random k-subset, so Q(k), the fraction of trials that
+    // percolated within k opens, estimates spanning with exactly k open sites.  Then
+    // P(p) = sum_k binomial(n^d, k, p) * Q(k).  The binomial weights are built outward from the mode with
+    // the ratio recurrence, so no factorials are needed, and the negligible tails are skipped.
+    public double spanningProbability(double p) {
+        if (!(p >= 0 && p <= 1))
+            throw new IllegalArgumentException("p must lie between 0 and 1");
+        if (p == 0) return spannedBy(0);
+        if (p == 1) return spannedBy(sites);
+        double odds = p / (1 - p);
+        int mode = (int) Math.min(sites, Math.floor((sites + 1) * p));
+        double weight = 1, total = 0, sum = 0;
+        for (int k = mode; k <= sites && weight > NEGLIGIBLE; k++) { // mode and up
+            total += weight;
+            sum += weight * spannedBy(k);
+            weight *= (double) (sites - k) / (k + 1) * odds;
+        }
+        weight = 1;
+        for (int k = mode - 1; k >= 0; k--) {                         // below mode
+            weight *= (double) (k + 1) / (sites - k) / odds;
+            if (weight <= NEGLIGIBLE) break;
+            total += weight;
+            sum += weight * spannedBy(k);
+        }
+        return sum / total;
+    }
+
+    // spanningProbability() at p = 0, 1/CURVE_STEPS, ..., 1
+    public double[] spanningCurve() {
+        double[] curve = new double[CURVE_STEPS + 1];
+        for (int i = 0; i <= CURVE_STEPS; i++)
+            curve[i] = spanningProbability((double) i / CURVE_STEPS);
+        return curve;
+    }
+
+    // Q(k): fraction of trials which percolated with at most k sites open
+    private double spannedBy(int k) {
+        int lo = 0, hi = spans.length;  // find first span > k
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (spans[mid] <= k) lo = mid + 1;
+            else hi = mid;
+        }
+        return (double) lo / spans.length;
+    }
+
    // test client
    public static void main(String[] args) {
-        if (args.length != 2)
-            throw new IllegalArgumentException("Improper arguments: input n and T separated by a space");    
+        if (args.length < 2 || args.length > 7)
+            throw new IllegalArgumentException("Improper arguments: input n and T (optionally seed, threads, uniform|permutation, dimensions and curve) separated by a space");    
         int n = Integer.valueOf(args[0]);
         int T = Integer.valueOf(args[1]);
         if (n < 1 || T < 1) 
             throw new IllegalArgumentException("Both n and t must be >1");
-        PercolationStats Stats = new PercolationStats(n, T);
+        boolean printCurve = args[args.length - 1].equalsIgnoreCase("curve");
+        int positional = printCurve ? args.length - 1 : args.length;
+        PercolationStats Stats;
+        if (positional == 2)
+            Stats = new PercolationStats(n, T);
+        else {
+            long seed = Long.valueOf(args[2]);
+            int threads = positional >= 4 ? Integer.valueOf(args[3]) : Runtime.getRuntime().availableProcessors();
+            Sampling sampling = positional >= 5 ? Sampling.valueOf(args[4].toUpperCase()) : Sampling.UNIFORM;
+            int dimensions = positional >= 6 ? Integer.valueOf(args[5]) : 2;
+            Stats = new PercolationStats(n, T, seed, threads, sampling, dimensions);
+        }
         //System.out.println(Arrays.toString(Stats.results)); // for debug, make sure you enable import java.utils.* 
         /* uncomment for stats normalized to mean
         *System.out.printf("Mean: %1$31.1f%%%n", Stats.mean()*100);
@@ -69,6 +267,11 @@ public class PercolationStats {
         System.out.printf("%1$-24s=", "stdev"); 
         System.out.println(Stats.stddev()); // as before
         System.out.printf("%1$-24s= [%2$f,%3$f]%n", "95% confidence interval", Stats.confidenceLo(), Stats.confidenceHi());
+        if (printCurve) {  // Newman-Ziff spanning probability curve
+            double[] curve = Stats.spanningCurve();
+            for (int i = 0; i < curve.length; i++)
+                System.out.printf("P(%1$.2f) = %2$f%n", (double) i / CURVE_STEPS, curve[i]);
+        }
    }
 
 }
\ No newline at end of file
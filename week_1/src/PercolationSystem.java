@@ -0,0 +1,23 @@
+// What PercolationStats needs from a percolation system, whatever its shape: sites addressed by a
+// flat index in [0, sites()) that can be opened with a single bounds check instead of per-axis
+// coordinate validation.
+
+interface PercolationSystem {
+
+    // number of sites
+    int sites();
+
+    // opens the flattened site if it is not open already; throws IllegalArgumentException if site is
+    // outside [0, sites()).  Returns true if the open changed top/bottom connectivity.  The system
+    // can only start percolating on an open that returns true.
+    boolean openSite(int site);
+
+    // returns the number of open sites
+    int numberOfOpenSites();
+
+    // does the system percolate?
+    boolean percolates();
+
+    // number of open sites when the system first percolated, -1 if it doesn't percolate yet
+    int percolatedAfter();
+}
@@ -0,0 +1,79 @@
+import java.util.Arrays;
+
+// Weighted union find over the sites of a percolation system which carries, on each root, flags
+// describing its whole component: is it connected to the top, to the bottom?  Because the flags ride
+// along with the roots no virtual start/finish nodes are needed, which removes backwash (a site that
+// only reaches the top through the virtual finish node) without a second union find.
+// Sizes are kept in the parent array itself: a root stores -(size of its component), any other site
+// stores its parent.  find() uses path halving.  Since sizes live on the roots, the number of open
+// components and the size of the largest are maintained in O(1) per open/union.
+// time O: constructor: n, union: ~1 (amortized), find ~1 (amortized)
+// space O: n  (one int and one byte per site)
+
+class PercolationUF {
+    static final byte OPEN   = 1;                 // site is open (set on every open site)
+    static final byte TOP    = 2;                 // component touches the top of the system
+    static final byte BOTTOM = 4;                 // component touches the bottom of the system
+    static final byte SPANS  = TOP | BOTTOM;      // component connects top to bottom
+
+    private final int[] parent;  // parent link, or -(component size) at a root
+    private final byte[] state;  // OPEN on open sites; roots additionally hold the TOP/BOTTOM flags of their component
+    private int components = 0;  // number of components made of open sites
+    private int largest = 0;     // size of the largest component of open sites
+
+    // creates sites blocked sites, each its own component of size 1
+    PercolationUF(int sites) {
+        this.parent = new int[sites];
+        Arrays.fill(this.parent, -1);
+        this.state = new byte[sites];
+    }
+
+    // number of sites
+    int sites() { return parent.length; }
+
+    boolean isOpen(int site) { return state[site] != 0; }
+
+    // marks a blocked site open. edges are the TOP/BOTTOM flags the site itself touches
+    void open(int site, byte edges) {
+        state[site] = (byte) (OPEN | edges);
+        components++;
+        if (largest == 0) largest = 1;
+    }
+
+    // root of site's component
+    int find(int site) {
+        while (parent[site] >= 0) {
+            int p = parent[site];
+            if (parent[p] < 0) return p;
+            parent[site] = parent[p];  // halve the path
+            site = parent[p];
+        }
+        return site;
+    }
+
+    // merges the components of p and q, smaller under larger; returns the new root
+    int union(int p, int q) {
+        int rootP = find(p);
+        int rootQ = find(q);
+        if (rootP == rootQ) return rootP;
+        if (parent[rootP] > parent[rootQ]) { int tmp = rootP; rootP = rootQ; rootQ = tmp; } // sizes are negative
+        parent[rootP] += parent[rootQ];
+        parent[rootQ] = rootP;
+        state[rootP] |= state[rootQ];
+        components--;
+        if (-parent[rootP] > largest) largest = -parent[rootP];
+        return rootP;
+    }
+
+    // TOP/BOTTOM flags (plus OPEN) of the component containing site
+    byte flags(int site) { return state[find(site)]; }
+
+    // number of sites in the component rooted at root
+    int size(int root) { return -parent[root]; }
+
+    // number of components made of open sites (only meaningful if unions are only made between open sites)
+    int components() { return components; }
+
+    // size of the largest component of open sites
+    int largest() { return largest; }
+}
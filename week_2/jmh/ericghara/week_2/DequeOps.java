@@ -0,0 +1,79 @@
+package ericghara.week_2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+// Linked Deque vs circular array RingDeque: fill then drain as a queue and as a stack, and iterate
+// over a full deque.  Items are boxed once in setup so only the deque's own allocation is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DequeOps {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Integer[] values;
+    private Object fullLinked, fullRing;
+
+    @Setup
+    public void setup() throws Throwable {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) { values[i] = i; }
+        fullLinked = (Object) Week2.DEQUE_NEW.invokeExact();
+        fullRing = (Object) Week2.RING_NEW.invokeExact();
+        for (Integer v : values) {
+            Week2.DEQUE_ADD_LAST.invokeExact(fullLinked, (Object) v);
+            Week2.RING_ADD_LAST.invokeExact(fullRing, (Object) v);
+        }
+    }
+
+    @Benchmark
+    public void LinkedQueue(Blackhole blackhole) throws Throwable {
+        Object dq = (Object) Week2.DEQUE_NEW.invokeExact();
+        for (Integer v : values) { Week2.DEQUE_ADD_LAST.invokeExact(dq, (Object) v); }
+        for (int i = 0; i < size; i++) { blackhole.consume((Object) Week2.DEQUE_REMOVE_FIRST.invokeExact(dq)); }
+    }
+
+    @Benchmark
+    public void RingQueue(Blackhole blackhole) throws Throwable {
+        Object dq = (Object) Week2.RING_NEW.invokeExact();
+        for (Integer v : values) { Week2.RING_ADD_LAST.invokeExact(dq, (Object) v); }
+        for (int i = 0; i < size; i++) { blackhole.consume((Object) Week2.RING_REMOVE_FIRST.invokeExact(dq)); }
+    }
+
+    @Benchmark
+    public void LinkedStack(Blackhole blackhole) throws Throwable {
+        Object dq = (Object) Week2.DEQUE_NEW.invokeExact();
+        for (Integer v : values) { Week2.DEQUE_ADD_FIRST.invokeExact(dq, (Object) v); }
+        for (int i = 0; i < size; i++) { blackhole.consume((Object) Week2.DEQUE_REMOVE_FIRST.invokeExact(dq)); }
+    }
+
+    @Benchmark
+    public void RingStack(Blackhole blackhole) throws Throwable {
+        Object dq = (Object) Week2.RING_NEW.invokeExact();
+        for (Integer v : values) { Week2.RING_ADD_FIRST.invokeExact(dq, (Object) v); }
+        for (int i = 0; i < size; i++) { blackhole.consume((Object) Week2.RING_REMOVE_FIRST.invokeExact(dq)); }
+    }
+
+    @Benchmark
+    public void LinkedIterate(Blackhole blackhole) {
+        for (Object v : (Iterable<?>) fullLinked) { blackhole.consume(v); }
+    }
+
+    @Benchmark
+    public void RingIterate(Blackhole blackhole) {
+        for (Object v : (Iterable<?>) fullRing) { blackhole.consume(v); }
+    }
+
+}
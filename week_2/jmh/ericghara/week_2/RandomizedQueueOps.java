@@ -0,0 +1,48 @@
+package ericghara.week_2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import java.util.concurrent.TimeUnit;
+
+// Dequeue/enqueue throughput of RandomizedQueue when every thread works its own queue: with the
+// default global StdRandom all threads share one Random, with xoroshiro each queue has its own.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RandomizedQueueOps {
+
+    private static final int SIZE = 1024;
+
+    @Param({"stdRandom", "xoroshiro"})
+    public String source;
+
+    private Object rq;
+
+    @Setup
+    public void setup() throws Throwable {
+        Object rng = source.equals("xoroshiro")
+                ? (Object) Week2.RANDOM_XOROSHIRO.invokeExact(Thread.currentThread().getId())
+                : (Object) Week2.RANDOM_STD.invokeExact();
+        rq = (Object) Week2.RQ_NEW.invokeExact(rng);
+        for (int i = 0; i < SIZE; i++) { Week2.RQ_ENQUEUE.invokeExact(rq, (Object) Integer.valueOf(i)); }
+    }
+
+    // dequeue a random item and put it back, keeping the queue at SIZE
+    @Benchmark
+    public Object DequeueEnqueue() throws Throwable {
+        Object item = (Object) Week2.RQ_DEQUEUE.invokeExact(rq);
+        Week2.RQ_ENQUEUE.invokeExact(rq, item);
+        return item;
+    }
+
+}
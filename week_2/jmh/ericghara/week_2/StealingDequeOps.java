@@ -0,0 +1,76 @@
+package ericghara.week_2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+// Work-stealing throughput: in each group one owner thread pushes tasks and pops one back for every
+// BATCH it pushes, while THIEVES threads steal from the other end.  StealingDeque (Chase-Lev) against
+// ConcurrentLinkedDeque used the same way (addLast/pollLast by the owner, pollFirst by thieves).
+// Scores are operations per microsecond per thread role; a steal that finds nothing still counts.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StealingDequeOps {
+
+    private static final int BATCH = 4;
+    private static final int THIEVES = 3;
+    private static final Integer TASK = 42;
+
+    private Object stealing;
+    private ConcurrentLinkedDeque<Integer> linked;
+
+    @State(Scope.Thread)
+    public static class Owner {
+        int pushed = 0;
+    }
+
+    @Setup
+    public void setup() throws Throwable {
+        stealing = (Object) Week2.STEALING_NEW.invokeExact();
+        linked = new ConcurrentLinkedDeque<>();
+    }
+
+    @Benchmark
+    @Group("ChaseLev")
+    @GroupThreads(1)
+    public Object ChaseLevOwner(Owner owner) throws Throwable {
+        Week2.STEALING_PUSH.invokeExact(stealing, (Object) TASK);
+        if (++owner.pushed % BATCH == 0) { return (Object) Week2.STEALING_POP.invokeExact(stealing); }
+        return null;
+    }
+
+    @Benchmark
+    @Group("ChaseLev")
+    @GroupThreads(THIEVES)
+    public Object ChaseLevThief() throws Throwable {
+        return (Object) Week2.STEALING_STEAL.invokeExact(stealing);
+    }
+
+    @Benchmark
+    @Group("ConcurrentLinkedDeque")
+    @GroupThreads(1)
+    public Object LinkedOwner(Owner owner) {
+        linked.addLast(TASK);
+        if (++owner.pushed % BATCH == 0) { return linked.pollLast(); }
+        return null;
+    }
+
+    @Benchmark
+    @Group("ConcurrentLinkedDeque")
+    @GroupThreads(THIEVES)
+    public Object LinkedThief() {
+        return linked.pollFirst();
+    }
+
+}
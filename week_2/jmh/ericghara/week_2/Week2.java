@@ -0,0 +1,74 @@
+package ericghara.week_2;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// week_2 sources live in the default package, which can't be imported from a named package, and JMH
+// refuses benchmarks in the default package.  These handles bridge the gap.  They are static final so
+// the JIT constant folds them and a call through one costs the same as a direct call.  Generic
+// parameters erase to Object, which is also the type every handle is adapted to.
+final class Week2 {
+
+    static final MethodHandle DEQUE_NEW          = constructor("Deque");
+    static final MethodHandle DEQUE_ADD_FIRST    = virtual("Deque", "addFirst", void.class, Object.class);
+    static final MethodHandle DEQUE_ADD_LAST     = virtual("Deque", "addLast", void.class, Object.class);
+    static final MethodHandle DEQUE_REMOVE_FIRST = virtual("Deque", "removeFirst", Object.class);
+    static final MethodHandle DEQUE_REMOVE_LAST  = virtual("Deque", "removeLast", Object.class);
+
+    static final MethodHandle RING_NEW           = constructor("RingDeque");
+    static final MethodHandle RING_ADD_FIRST     = virtual("RingDeque", "addFirst", void.class, Object.class);
+    static final MethodHandle RING_ADD_LAST      = virtual("RingDeque", "addLast", void.class, Object.class);
+    static final MethodHandle RING_REMOVE_FIRST  = virtual("RingDeque", "removeFirst", Object.class);
+    static final MethodHandle RING_REMOVE_LAST   = virtual("RingDeque", "removeLast", Object.class);
+
+    static final MethodHandle STEALING_NEW       = constructor("StealingDeque");
+    static final MethodHandle STEALING_PUSH      = virtual("StealingDeque", "push", void.class, Object.class);
+    static final MethodHandle STEALING_POP       = virtual("StealingDeque", "pop", Object.class);
+    static final MethodHandle STEALING_STEAL     = virtual("StealingDeque", "steal", Object.class);
+
+    static final MethodHandle RQ_NEW             = constructor("RandomizedQueue", "RandomSource");
+    static final MethodHandle RQ_ENQUEUE         = virtual("RandomizedQueue", "enqueue", void.class, Object.class);
+    static final MethodHandle RQ_DEQUEUE         = virtual("RandomizedQueue", "dequeue", Object.class);
+    static final MethodHandle RANDOM_STD         = factory("RandomSource", "stdRandom");
+    static final MethodHandle RANDOM_XOROSHIRO   = factory("RandomSource", "xoroshiro", long.class);
+
+    private Week2() {}
+
+    // constructor of className taking one argument of each of paramClassNames, as (Object...) -> Object
+    static MethodHandle constructor(String className, String... paramClassNames) {
+        try {
+            Class<?>[] params = new Class<?>[paramClassNames.length];
+            for (int i = 0; i < params.length; i++) { params[i] = Class.forName(paramClassNames[i]); }
+            MethodHandle ctor = MethodHandles.publicLookup()
+                    .findConstructor(Class.forName(className), MethodType.methodType(void.class, params));
+            return ctor.asType(ctor.type().generic());
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // public static method of className as (params...) -> Object
+    static MethodHandle factory(String className, String name, Class<?>... params) {
+        try {
+            Class<?> cls = Class.forName(className);
+            return MethodHandles.publicLookup()
+                    .findStatic(cls, name, MethodType.methodType(cls, params))
+                    .asType(MethodType.methodType(Object.class, params));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // public method of className as (Object receiver, params...) -> ret
+    static MethodHandle virtual(String className, String name, Class<?> ret, Class<?>... params) {
+        try {
+            Class<?> cls = Class.forName(className);
+            return MethodHandles.publicLookup()
+                    .findVirtual(cls, name, MethodType.methodType(ret, params))
+                    .asType(MethodType.methodType(ret, params).insertParameterTypes(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import edu.princeton.cs.algs4.StdIn;
+
+// int specialization of RingDeque: values are stored as int so adds, removes and iteration never box.
+// The ring indexing and doubling/halving live in PrimitiveRing, shared with the other primitive deque;
+// this class only holds the typed array.
+public class IntDeque extends PrimitiveRing {
+    private int[] items = new int[MIN_CAPACITY];
+    public IntDeque() {
+    }
+
+    int capacity() { return this.items.length; }
+
+    void copyTo(int len, int head, int firstRun, int N) {
+        int[] tmp = new int[len];
+        System.arraycopy(this.items, head, tmp, 0, firstRun);
+        System.arraycopy(this.items, 0, tmp, firstRun, N - firstRun);
+        this.items = tmp;
+    }
+
+    // add the item to the front
+    public void addFirst(int item) {
+        int s = addFirstSlot();  // may grow the array, so take the slot before indexing it
+        this.items[s] = item;
+    }
+
+    // add the item to the back
+    public void addLast(int item) {
+        int s = addLastSlot();  // may grow the array, so take the slot before indexing it
+        this.items[s] = item;
+    }
+
+    // remove and return the item from the front
+    public int removeFirst() {
+        int val = this.items[removeFirstSlot()];
+        shrinkIfSparse();
+        return val;
+    }
+
+    // remove and return the item from the back
+    public int removeLast() {
+        int val = this.items[removeLastSlot()];
+        shrinkIfSparse();
+        return val;
+    }
+
+    // Iterates first to last; nextInt() does not box
+    public PrimitiveIterator.OfInt iterator()
+    { return new IntDequeIterator(); }
+
+    private class IntDequeIterator implements PrimitiveIterator.OfInt {
+        int i = 0; // offset from head of the next item
+        public boolean hasNext() {
+            return i < size(); }
+        public void remove()     { throw new UnsupportedOperationException("Remove has not been implemented."); }
+        public int nextInt()  {
+            if (!hasNext())      { throw new NoSuchElementException("You have iterated through the entire Queue.");}
+            return items[slot(i++)];
+        }
+    }
+
+    // unit testing, same commands as Deque; arguments must be ints
+    public static void main(String[] args) {
+        IntDeque DQ = new IntDeque();
+            while (!StdIn.isEmpty()) {
+                String[] cmd =  StdIn.readLine().trim().split("\\s+", 2);
+                if (cmd[0].length() == 0) {
+                    System.out.printf("Warning - caught an empty line%n%n"); // tolerates an empty line
+                }
+                else {
+                    String op = cmd[0].toLowerCase();
+                    int arg = cmd.length == 2 ? Integer.parseInt(cmd[1].trim()) : 0;
+
+                    if (op.contains("#"))            { System.out.println("#"); }
+                    else if (op.equals("isempty"))   { System.out.println( DQ.isEmpty() ? "Empty!" : "Not Empty" ); }
+                    else if (op.equals("size"))      { System.out.printf("size: %d%n", DQ.size() ); }
+                    else if (op.equals("append")
+                             || op.equals("+>"))      { DQ.addFirst(arg); System.out.printf("+> %d %n", arg); }
+                    else if (op.equals("appendleft")
+                             || op.equals("<+"))      { DQ.addLast(arg); System.out.printf("<+ %d %n", arg); }
+                    else if (op.equals("pop")
+                             || op.equals("->"))      { System.out.printf("-> %d %n", DQ.removeFirst()); }
+                    else if (op.equals("popleft")
+                             || op.equals("<-"))      { System.out.printf("<- %d %n", DQ.removeLast()); }
+                    else if (op.equals("iterate"))   { for (PrimitiveIterator.OfInt it = DQ.iterator(); it.hasNext(); ) { System.out.println("i: " + it.nextInt());} }
+                    else                             { throw new UnsupportedOperationException("Invalid input"); }
+                }
+            }
+
+        }
+
+    }
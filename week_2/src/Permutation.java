@@ -1,10 +1,20 @@
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdRandom;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 // Pass on integer argument k and a list of strings.  This
 // this program will return a k length uniformly random sample
 // from the input while only using O(k) memory through them
-// implementation of a reservoir sampling algorithm
+// implementation of a reservoir sampling algorithm.
+//
+// Pass --skip after k to use Algorithm L instead: the number of tokens to pass over
+// before the next replacement is drawn from a geometric distribution, so only
+// O(k log(N/k)) tokens are decoded or touch the RNG and the rest are skipped as raw bytes.
 
 
 public class Permutation {
@@ -12,15 +22,105 @@ public class Permutation {
     public Permutation() { }
 
 
+    // Algorithm L (Li, 1994): fills a k slot reservoir from in, skipping geometrically
+    // distributed runs of tokens between replacements.  Returns the filled slots, which
+    // are fewer than k if the input ran out first.
+    static String[] sample(Tokens in, int k) {
+        String[] reservoir = new String[k];
+        int n = 0;
+        String cur;
+        while (n < k && (cur = in.next()) != null) { reservoir[n++] = cur; }
+        if (n < k) { return Arrays.copyOf(reservoir, n); }
+        if (k == 0) { return reservoir; }
+        double w = Math.exp(Math.log(uniform()) / k);
+        while (true) {
+            long skip = (long) Math.floor(Math.log(uniform()) / Math.log(1 - w));
+            if (!in.skip(skip) || (cur = in.next()) == null) { return reservoir; }
+            reservoir[StdRandom.uniform(k)] = cur;
+            w *= Math.exp(Math.log(uniform()) / k);
+        }
+    }
+
+    // uniform on (0, 1], so it is always safe to take the log
+    private static double uniform() { return 1.0 - StdRandom.uniform(); }
+
+    // Whitespace delimited tokens read straight from the byte stream.  Tokens that are
+    // skipped are never decoded; only next() builds a String.
+    static class Tokens {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16];
+        private int pos, lim;
+        private byte[] tok = new byte[64];
+
+        Tokens(InputStream in) { this.in = in; }
+
+        private static boolean isSpace(byte b) { return b == ' ' || (b >= '\t' && b <= '\r'); }
+
+        private boolean fill() {
+            try { lim = in.read(buf, 0, buf.length); }
+            catch (IOException e) { throw new UncheckedIOException(e); }
+            pos = 0;
+            if (lim < 0) { lim = 0; }
+            return lim > 0;
+        }
+
+        // advances to the first byte of the next token; false at end of input
+        private boolean toToken() {
+            while (true) {
+                while (pos < lim) {
+                    if (!isSpace(buf[pos])) { return true; }
+                    pos++;
+                }
+                if (!fill()) { return false; }
+            }
+        }
+
+        // passes over n tokens; false if the input ran out first
+        boolean skip(long n) {
+            for (; n > 0; n--) {
+                if (!toToken()) { return false; }
+                do {
+                    while (pos < lim && !isSpace(buf[pos])) { pos++; }
+                } while (pos == lim && fill());
+            }
+            return true;
+        }
+
+        // the next token, or null at end of input
+        String next() {
+            if (!toToken()) { return null; }
+            int len = 0;
+            do {
+                int start = pos;
+                while (pos < lim && !isSpace(buf[pos])) { pos++; }
+                int run = pos - start;
+                if (len + run > tok.length) { tok = Arrays.copyOf(tok, Math.max(tok.length * 2, len + run)); }
+                System.arraycopy(buf, start, tok, len, run);
+                len += run;
+            } while (pos == lim && fill());
+            return new String(tok, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+
     public static void main(String[] args) {
         // Implements reservoir sampling
         Permutation Perm = new Permutation();
         int k, i; 
         i = k = 0;
+        if (args.length == 2 && args[1].equals("--skip")) {
+            k = Integer.parseInt(args[0]);
+            String[] sample = sample(new Tokens(System.in), k);
+            Perm.RQ = new RandomizedQueue<String>(sample.length);
+            Perm.RQ.enqueueAll(sample);
+            StringBuilder out = new StringBuilder();
+            for (String s : Perm.RQ) { out.append(s).append('\n'); }
+            System.out.print(out);
+            return;
+        }
         if (args.length == 1)
             i = k = Integer.parseInt(args[0]);
         else 
-            throw new IllegalArgumentException("Provide arg for number of values you want to return");
+            throw new IllegalArgumentException("Provide arg for number of values you want to return (optionally followed by --skip)");
         String cur;
         while (!StdIn.isEmpty()) {
             cur = StdIn.readString();
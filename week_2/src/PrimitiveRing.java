@@ -0,0 +1,72 @@
+import java.util.NoSuchElementException;
+
+// Index arithmetic and resize policy shared by the primitive deques (IntDeque, LongDeque), so the two
+// element types cannot drift apart.  The ring is a power-of-two array indexed with a mask: it doubles
+// when full and halves when 1/4 full (never below MIN_CAPACITY), like RingDeque.  Subclasses own the
+// typed array and only supply its capacity and the copy into a new array; each add/remove asks here
+// for the slot to use.
+abstract class PrimitiveRing {
+    static final int MIN_CAPACITY = 8;
+    private int head = 0; // index of the first item
+    private int N = 0;    // size
+
+    // is the deque empty?
+    public boolean isEmpty() { return this.N == 0; }
+
+    // return the number of items on the deque
+    public int size() { return this.N; }
+
+    // length of the subclass's array
+    abstract int capacity();
+
+    // replace the array with one of length len holding the N items starting at head, unwrapped to
+    // start at 0; firstRun is the number of items before the wrap
+    abstract void copyTo(int len, int head, int firstRun, int N);
+
+    private int mask() { return capacity() - 1; }
+
+    private void resize(int len) {
+        copyTo(len, this.head, Math.min(this.N, capacity() - this.head), this.N);
+        this.head = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (this.N == 0) { throw new NoSuchElementException("Queue underflow"); }
+    }
+
+    // array index of the i-th item from the front
+    int slot(int i) { return (this.head + i) & mask(); }
+
+    // array index for a new first item (the deque grows first if full)
+    int addFirstSlot() {
+        if (this.N == capacity()) { resize(capacity() * 2); }
+        this.head = (this.head - 1) & mask();
+        this.N++;
+        return this.head;
+    }
+
+    // array index for a new last item (the deque grows first if full)
+    int addLastSlot() {
+        if (this.N == capacity()) { resize(capacity() * 2); }
+        return slot(this.N++);
+    }
+
+    // array index of the first item, which is removed; read it, then call shrinkIfSparse()
+    int removeFirstSlot() {
+        checkNotEmpty();
+        int s = this.head;
+        this.head = (this.head + 1) & mask();
+        this.N--;
+        return s;
+    }
+
+    // array index of the last item, which is removed; read it, then call shrinkIfSparse()
+    int removeLastSlot() {
+        checkNotEmpty();
+        return slot(--this.N);
+    }
+
+    void shrinkIfSparse() {
+        if (capacity() > MIN_CAPACITY && this.N * 4 == capacity()) { resize(capacity() / 2); }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.StdRandom;
+
+// Source of random bits for RandomizedQueue.  Implementations only supply 64 random bits at a time;
+// nextInt(bound) turns them into a uniform int in [0, bound) with Lemire's multiply-shift method,
+// which needs one multiplication and almost never a retry or a division (the rejection threshold
+// needs one % but it is only computed when the low product bits land in the small biased zone).
+// Each queue owns its source, so queues on different threads never contend over one shared Random.
+public interface RandomSource {
+
+    // 64 uniformly random bits
+    long nextLong();
+
+    // uniform int in [0, bound); bound must be > 0
+    default int nextInt(int bound) {
+        long m = (nextLong() >>> 32) * bound;       // 32 random bits times bound
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound; // 2^32 mod bound
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    // the shared global StdRandom (the default; honors StdRandom.setSeed)
+    static RandomSource stdRandom() {
+        return new RandomSource() {
+            public long nextLong() { return StdRandom.uniform(Long.MAX_VALUE) ^ ((long) StdRandom.uniform(2) << 63); }
+            public int nextInt(int bound) { return StdRandom.uniform(bound); }
+        };
+    }
+
+    // a SplittableRandom seeded with seed
+    static RandomSource splittable(long seed) {
+        final SplittableRandom rng = new SplittableRandom(seed);
+        return new RandomSource() {
+            public long nextLong() { return rng.nextLong(); }
+        };
+    }
+
+    // xoroshiro128++ (Blackman & Vigna) seeded with seed, expanded through splitmix64
+    static RandomSource xoroshiro(long seed) {
+        return new Xoroshiro128(seed);
+    }
+}
+
+// xoroshiro128++ behind RandomSource.xoroshiro(seed); package-private so callers go through the factory
+final class Xoroshiro128 implements RandomSource {
+    private long s0, s1;
+
+    Xoroshiro128(long seed) {
+        s0 = splitMix(seed += 0x9E3779B97F4A7C15L);
+        s1 = splitMix(seed + 0x9E3779B97F4A7C15L);
+        if ((s0 | s1) == 0) { s1 = 1; } // all zero state is a fixed point
+    }
+
+    private static long splitMix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long nextLong() {
+        long a = s0, b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+}
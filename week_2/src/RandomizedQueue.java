@@ -1,13 +1,37 @@
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Iterator;
 import edu.princeton.cs.algs4.StdIn;
-import edu.princeton.cs.algs4.StdRandom;
 
+// Random choices come from the queue's own RandomSource; by default the global StdRandom, or any
+// seeded fast generator (SplittableRandom, xoroshiro128++) so queues on different threads don't
+// contend over one shared Random and runs can be reproduced per queue.
+// Iterators read the queue's array directly rather than a copy, so they are fail-fast: once the queue
+// is changed by enqueue, enqueueAll, dequeue or a non-empty drainTo, an existing iterator's next()
+// throws ConcurrentModificationException.  Iterators are independent of each other, each with its own
+// random order, and any number may run at once while the queue is left unchanged.
 public class RandomizedQueue<Item> implements Iterable<Item> {
-    private Item[] rq = (Item[]) new Object[1];
+    private Item[] rq;
     private int N = 0; 
+    private final RandomSource rng;
+    private int modCount = 0; // bumped by every enqueue/dequeue so iterators can detect modification
     // construct an empty randomized queue
-    public RandomizedQueue() {}
+    public RandomizedQueue() { this(RandomSource.stdRandom()); }
+
+    // construct an empty randomized queue drawing from rng
+    public RandomizedQueue(RandomSource rng) { this(1, rng); }
+
+    // construct an empty randomized queue with room for capacity items before its first resize
+    public RandomizedQueue(int capacity) { this(capacity, RandomSource.stdRandom()); }
+
+    // construct an empty randomized queue with room for capacity items, drawing from rng
+    public RandomizedQueue(int capacity, RandomSource rng) {
+        if (rng == null) { throw new IllegalArgumentException("RandomSource must not be null."); }
+        if (capacity < 0) { throw new IllegalArgumentException("Capacity must be >= 0."); }
+        this.rng = rng;
+        this.rq = newArray(powerOfTwo(capacity));
+    }
 
     // is the randomized queue empty?
     public boolean isEmpty() { return this.N == 0; }
@@ -17,74 +41,189 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
     private int length() { return rq.length; }
 
+    // smallest power of two >= n (and >= 1); lengths stay powers of two so halving in
+    // shrinkIfSparse() always lands on a whole length
+    private static int powerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // the only generic array allocation; the array never leaves this class, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] newArray(int len) { return (Item[]) new Object[len]; }
+
     private void resize(int len) {
-        Item[] tmp = (Item[]) new Object[len];
-        for (int i = 0 ; i < this.N; i ++) {
-            tmp[i] = this.rq[i];
-        }
+        Item[] tmp = newArray(len);
+        System.arraycopy(this.rq, 0, tmp, 0, this.N);
         this.rq = tmp;
     }
     
-    //Returns -1 if no resize required OR the new size rq should be resized to
-    private int needsResize() {
-        if      (this.N >= this.rq.length)         { return this.rq.length * 2; }  // double array size at max capacity
-        else if (this.N *4  == this.rq.length)     { return this.rq.length / 2; } // half array size at 1/4 capacity
-        return -1;
+    // Only removals shrink, so a queue presized by the constructor or enqueueAll keeps its length while
+    // it fills.  Halves the array until it is more than 1/4 full, with one copy.
+    private void shrinkIfSparse() {
+        int len = this.rq.length;
+        while (len > 1 && this.N * 4 <= len) { len /= 2; }
+        if (len != this.rq.length) { resize(len); }
     }
     
     // add the item
     public void enqueue(Item item) {
         if (item == null) { throw new IllegalArgumentException("You cannot add a null item to the queue."); }
-        this.N++;
-        int n = needsResize();
-        if (n != -1) {resize(n);}
-        this.rq[this.N-1] = item;
+        if (this.N == this.rq.length) { resize(this.rq.length * 2); } // double array size at max capacity; enqueue never shrinks
+        this.modCount++;
+        this.rq[this.N++] = item;
     }
 
     // remove and return a random item
     public Item dequeue() {
         if (isEmpty()) { throw new NoSuchElementException("You cannot dequeue from an empty list."); }
-        int i = StdRandom.uniform(this.N);
+        int i = rng.nextInt(this.N);
         this.N--;
+        this.modCount++;
         Item elem = this.rq[i];
         this.rq[i] = this.rq[this.N]; // Fill in popped item from list with last element (stops list from becoming fragmented)
         this.rq[this.N] = null; // remove duplicate reference to last element
-        int n = needsResize();
-        if (n != -1) {resize(n);}
+        shrinkIfSparse();
         return elem;
     }
 
+    // add every item of items with at most one resize
+    public void enqueueAll(Item[] items) {
+        if (items == null) { throw new IllegalArgumentException("Received null input."); }
+        addAll(items);
+    }
+
+    // add every item of items with at most one resize
+    public void enqueueAll(Collection<? extends Item> items) {
+        if (items == null) { throw new IllegalArgumentException("Received null input."); }
+        addAll(items.toArray());
+    }
+
+    // items is an Object[] so a collection's toArray() can be copied without an unchecked cast; every
+    // element is an Item
+    private void addAll(Object[] items) {
+        for (Object item : items) {  // check first so a bad item leaves the queue unchanged
+            if (item == null) { throw new IllegalArgumentException("You cannot add a null item to the queue."); }
+        }
+        int total = this.N + items.length;
+        if (total > this.rq.length) { resize(powerOfTwo(total)); }
+        System.arraycopy(items, 0, this.rq, this.N, items.length);
+        this.N = total;
+        this.modCount++;
+    }
+
+    // remove k random items (or all of them if fewer remain) into out, resizing at most once;
+    // returns the number of items removed
+    public int drainTo(Collection<? super Item> out, int k) {
+        if (out == null) { throw new IllegalArgumentException("Received null input."); }
+        if (k < 0) { throw new IllegalArgumentException("Number of items to drain must be >= 0."); }
+        int drained = Math.min(k, this.N);
+        for (int j = 0; j < drained; j++) {
+            int i = rng.nextInt(this.N);
+            out.add(this.rq[i]);
+            this.rq[i] = this.rq[--this.N]; // same swap with last as dequeue
+            this.rq[this.N] = null;
+        }
+        if (drained == 0) { return 0; } // nothing changed, so live iterators stay valid
+        this.modCount++;
+        shrinkIfSparse(); // same 1/4 full rule as dequeue, applied once
+        return drained;
+    }
+
     // return a random item (but do not remove it)
     public Item sample() {
         if (isEmpty()) { throw new NoSuchElementException("You cannot sample an empty list."); }
-        return this.rq[StdRandom.uniform(this.N)];
+        return this.rq[rng.nextInt(this.N)];
     }
 
-    private Item[] randomClone() {
-        Item[] copy = (Item[]) new Object[this.N];
-        for (int i = 0; i < this.N; i++)
-            copy[i] = rq[i];
-        return copy;
-    }
-
-    // return an independent iterator over items in random order
+    // return an iterator over items in random order; fail-fast if the queue is modified (see above)
     public Iterator<Item> iterator() 
         { return new RandomizedQueueIterator(); }
 
+    // Fisher-Yates run lazily over the indices of rq instead of over a copy of it: swaps are recorded
+    // in a sparse map (index -> index now in that position; absent means unswapped) so creating an
+    // iterator is O(1) and it holds O(items returned so far) memory.  Reads the queue's array directly,
+    // so the queue must not be modified while iterating.
     private class RandomizedQueueIterator implements Iterator<Item> {
-        private Item[] copyRQ = (Item[]) randomClone();
-        private int i = copyRQ.length-1;
+        private final int expectedModCount = modCount;
+        private final SwapMap swaps = new SwapMap();
+        private int i = N-1;
         public boolean hasNext() { return i >= 0; }
         public void remove()     { throw new UnsupportedOperationException("Remove has not been implemented."); }
         public Item next()       { 
             if (i < 0) { throw new NoSuchElementException("You have iterated through the entire Queue."); }
-            int randI = StdRandom.uniform(i+1); // uniform is 0-n EXclusive
-            Item out = copyRQ[randI];
-            copyRQ[randI] = copyRQ[i];
-            copyRQ[i--] = null;
+            if (modCount != expectedModCount) { throw new ConcurrentModificationException("Queue modified while iterating."); }
+            int randI = rng.nextInt(i+1); // nextInt is 0-n EXclusive
+            Item out = rq[swaps.get(randI)];
+            swaps.put(randI, swaps.get(i)); // position i is never drawn again so needs no entry
+            swaps.remove(i);
+            i--;
             return out; }
     } 
 
+    // open addressing int -> int map with linear probing; keys are non-negative array indices
+    private static class SwapMap {
+        private static final int EMPTY = -1;
+        private int[] keys = newKeys(16);
+        private int[] vals = new int[16];
+        private int shift = 32 - 4;  // Fibonacci hashing: top log2(keys.length) bits of key * golden ratio
+        private int size = 0;
+
+        private static int[] newKeys(int len) {
+            int[] k = new int[len];
+            java.util.Arrays.fill(k, EMPTY);
+            return k;
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int s = (key * 0x9E3779B9) >>> shift;
+            while (keys[s] != EMPTY && keys[s] != key) { s = (s + 1) & mask; }
+            return s;
+        }
+
+        // value for key, or key itself if absent
+        int get(int key) {
+            int s = slot(key);
+            return keys[s] == EMPTY ? key : vals[s];
+        }
+
+        void put(int key, int val) {
+            int s = slot(key);
+            if (keys[s] == EMPTY) {
+                if (2 * (size + 1) > keys.length) { grow(); s = slot(key); }
+                keys[s] = key;
+                size++;
+            }
+            vals[s] = val;
+        }
+
+        // removes key, re-inserting the rest of its probe run so lookups stay correct
+        void remove(int key) {
+            int s = slot(key);
+            if (keys[s] == EMPTY) { return; }
+            keys[s] = EMPTY;
+            size--;
+            int mask = keys.length - 1;
+            for (int r = (s + 1) & mask; keys[r] != EMPTY; r = (r + 1) & mask) {
+                int k = keys[r], v = vals[r];
+                keys[r] = EMPTY;
+                size--;
+                put(k, v);
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys, oldVals = vals;
+            keys = newKeys(oldKeys.length * 2);
+            vals = new int[oldKeys.length * 2];
+            shift--;
+            size = 0;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != EMPTY) { put(oldKeys[j], oldVals[j]); }
+            }
+        }
+    }
+
     // unit testing
     public static void main(String[] args) {
         RandomizedQueue<String> RQ = new RandomizedQueue<String>();
@@ -112,7 +251,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
                     else if (op.equals("sample"))    { System.out.printf("> %s%n", RQ.sample()); }
                     else if (op.equals("iterate"))   { for (String v : RQ) { System.out.println("i: " + v);} }
                     else if (op.equals("length"))    { System.out.printf("length: %d%n", RQ.length() ); }
-                    else if (op.equals("itest"))     { Iterator iter = RQ.iterator();
+                    else if (op.equals("itest"))     { Iterator<String> iter = RQ.iterator();
                                                        iter.next();
                                                        iter.hasNext();
                                                        iter.remove();
@@ -0,0 +1,150 @@
+import java.util.NoSuchElementException;
+import java.util.Iterator;
+import edu.princeton.cs.algs4.StdIn;
+
+// Deque with the same API and iteration order (first to last) as Deque, backed by a circular array
+// instead of linked nodes: no per item node, and neighbors are adjacent in memory.  Capacity is always a
+// power of two so wrap around is a mask rather than a modulo.  The array doubles when full and halves
+// when it falls to 1/4 full, so adds and removes are amortized O(1) and space stays O(N).
+public class RingDeque<Item> implements Iterable<Item> {
+    private static final int MIN_CAPACITY = 8;
+    private Item[] items = newArray(MIN_CAPACITY);
+    private int head = 0; // index of the first item
+    private int N = 0;    // size
+    public RingDeque() {
+    }
+
+    // is the deque empty?
+    public boolean isEmpty() { return this.N == 0; }
+
+    // use this to assert queue is not empty
+    private void isEmpty(boolean loud) {
+        if (this.N == 0) { throw new NoSuchElementException("Queue underflow"); }
+    }
+
+    // return the number of items on the deque
+    public int size() { return this.N; }
+
+    private int capacity() { return this.items.length; }
+
+    private int mask() { return this.items.length - 1; }
+
+    // the only generic array allocation; the array never leaves this class, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] newArray(int len) { return (Item[]) new Object[len]; }
+
+    // copies items into a new array of capacity len (a power of two), unwrapping them to start at 0
+    private void resize(int len) {
+        Item[] tmp = newArray(len);
+        int firstRun = Math.min(this.N, this.items.length - this.head); // items before the wrap
+        System.arraycopy(this.items, this.head, tmp, 0, firstRun);
+        System.arraycopy(this.items, 0, tmp, firstRun, this.N - firstRun);
+        this.items = tmp;
+        this.head = 0;
+    }
+
+    private void growIfFull() {
+        if (this.N == this.items.length) { resize(this.items.length * 2); }
+    }
+
+    private void shrinkIfSparse() {
+        if (this.items.length > MIN_CAPACITY && this.N * 4 == this.items.length) { resize(this.items.length / 2); }
+    }
+
+    // add the item to the front
+    public void addFirst(Item item) {
+        if (item == null) { throw new IllegalArgumentException("You cannot add a null item to the queue."); }
+        growIfFull();
+        this.head = (this.head - 1) & mask();
+        this.items[this.head] = item;
+        this.N++;
+    }
+
+    // add the item to the back
+    public void addLast(Item item) {
+        if (item == null) { throw new IllegalArgumentException("You cannot add a null item to the queue."); }
+        growIfFull();
+        this.items[(this.head + this.N) & mask()] = item;
+        this.N++;
+    }
+
+    // remove and return the item from the front
+    public Item removeFirst() {
+        this.isEmpty(true);
+        Item val = this.items[this.head];
+        this.items[this.head] = null; // don't hold on to removed items
+        this.head = (this.head + 1) & mask();
+        this.N--;
+        shrinkIfSparse();
+        return val;
+    }
+
+    // remove and return the item from the back
+    public Item removeLast() {
+        this.isEmpty(true);
+        int tail = (this.head + this.N - 1) & mask();
+        Item val = this.items[tail];
+        this.items[tail] = null;
+        this.N--;
+        shrinkIfSparse();
+        return val;
+    }
+
+    // Iterates first to last
+    public Iterator<Item> iterator()
+    { return new RingDequeIterator(); }
+
+    private class RingDequeIterator implements Iterator<Item> {
+        int i = 0; // offset from head of the next item
+        public boolean hasNext() {
+            return i < N; }
+        public void remove()     { throw new UnsupportedOperationException("Remove has not been implemented."); }
+        public Item next()  {
+            if (!hasNext())      { throw new NoSuchElementException("You have iterated through the entire Queue.");}
+            return items[(head + i++) & mask()];
+        }
+    }
+
+    // unit testing, same commands as Deque
+    public static void main(String[] args) {
+        RingDeque<String> DQ = new RingDeque<String>();
+            String clearline = ""; boolean INTERACTIVE = false;  // set to false if using an input file true for manual inputs
+            if (INTERACTIVE) clearline = "\033[1A\033[2K";
+
+            while (!StdIn.isEmpty()) {
+                String[] cmd =  StdIn.readLine().trim().split("\\s+", 2);
+                if (cmd[0].length() == 0) {
+                    System.out.printf(clearline);  // moves cursor up after each input if INTERACTIVE
+                    System.out.printf("Warning - caught an empty line%n%n"); // tolerates an empty line
+                }
+                else {
+                    System.out.printf(clearline); // moves cursor up after each input if INTERACTIVE
+                    String op = cmd[0].toLowerCase();
+                    String arg = null; //arg purposely allowed to remain null for debugging
+                    if (cmd.length == 2) { arg = cmd[1]; }
+
+                    if (op.contains("#"))            { System.out.println("#"); }
+                    else if (op.equals("isempty"))   { System.out.println( DQ.isEmpty() ? "Empty!" : "Not Empty" ); }
+                    else if (op.equals("size"))      { System.out.printf("size: %d%n", DQ.size() ); }
+                    else if (op.equals("capacity"))  { System.out.printf("capacity: %d%n", DQ.capacity() ); }
+                    else if (op.equals("append")
+                             || op.equals("+>"))      { DQ.addFirst(arg); System.out.printf("+> %s %n", arg); }
+                    else if (op.equals("appendleft")
+                             || op.equals("<+"))      { DQ.addLast(arg); System.out.printf("<+ %s %n", arg); }
+                    else if (op.equals("pop")
+                             || op.equals("->"))      { System.out.printf("-> %s %n", DQ.removeFirst()); }
+                    else if (op.equals("popleft")
+                             || op.equals("<-"))      { System.out.printf("<- %s %n", DQ.removeLast()); }
+                    else if (op.equals("iterate"))   { for (String v : DQ) { System.out.println("i: " + v);} }
+                    else if (op.equals("itest"))     { Iterator<String> iter = DQ.iterator();
+                                                       iter.next();
+                                                       iter.hasNext();
+                                                       iter.remove();
+                                                       iter.next(); }
+                    else                             { throw new UnsupportedOperationException("Invalid input"); }
+                }
+            }
+
+        }
+
+    }
@@ -0,0 +1,135 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Concurrent work-stealing deque (Chase & Lev, "Dynamic Circular Work-Stealing Deque", with the memory
+// ordering of Le et al.).  One owner thread pushes and pops at the bottom; any number of thief threads
+// steal from the top.  push/pop are lock free and, except when the owner and a thief race for the last
+// item, never use a CAS; steal is one CAS.  Indices only ever grow and are masked into a power-of-two
+// circular array that the owner doubles when full.
+// Shares isEmpty/size and the null item check with Deque.  Because another thread can empty the deque
+// between a check and a removal, pop and steal return null on an empty deque instead of throwing, and
+// steal also returns null if it lost a race (the caller may simply retry).  There is no iterator.
+// Java volatile reads and writes are sequentially consistent, which provides the fences the algorithm
+// needs between the write of bottom and the read of top in pop and between the reads in steal.
+public class StealingDeque<Item> {
+    private static final int MIN_CAPACITY = 32;
+    private final AtomicLong top = new AtomicLong(); // next index to steal; only ever increases
+    private volatile long bottom = 0;                // next index to push; written only by the owner
+    private volatile Object[] items = new Object[MIN_CAPACITY];  // replaced (grown) only by the owner
+
+    public StealingDeque() {
+    }
+
+    // is the deque empty? (a snapshot; may be stale as soon as it returns)
+    public boolean isEmpty() { return size() == 0; }
+
+    // return the number of items on the deque (a snapshot)
+    public int size() {
+        long b = this.bottom, t = this.top.get();
+        return (int) Math.max(0, b - t);
+    }
+
+    // owner only: add the item to the bottom
+    public void push(Item item) {
+        if (item == null) { throw new IllegalArgumentException("You cannot add a null item to the queue."); }
+        long b = this.bottom, t = this.top.get();
+        Object[] a = this.items;
+        if (b - t >= a.length) { a = grow(a, t, b); }
+        a[(int) b & (a.length - 1)] = item;
+        this.bottom = b + 1;  // publishes the item to thieves
+    }
+
+    // copies the live range [t, b) into an array twice as large.  Stale thieves reading the old array
+    // still see the right items since nothing in it is cleared
+    private Object[] grow(Object[] a, long t, long b) {
+        Object[] tmp = new Object[a.length * 2];
+        for (long i = t; i < b; i++) { tmp[(int) i & (tmp.length - 1)] = a[(int) i & (a.length - 1)]; }
+        this.items = tmp;
+        return tmp;
+    }
+
+    // the only cast from the Object[] store; everything in it was pushed as an Item, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private static <Item> Item itemAt(Object[] a, long i) { return (Item) a[(int) i & (a.length - 1)]; }
+
+    // owner only: remove and return the item at the bottom, or null if the deque is empty
+    public Item pop() {
+        long b = this.bottom - 1;
+        Object[] a = this.items;
+        this.bottom = b;           // claim index b before looking at top
+        long t = this.top.get();
+        if (t > b) {               // empty
+            this.bottom = b + 1;
+            return null;
+        }
+        Item item = itemAt(a, b);
+        if (t == b) {              // last item: race thieves for it
+            if (!this.top.compareAndSet(t, t + 1)) { item = null; }
+            this.bottom = b + 1;
+        }
+        else {
+            a[(int) b & (a.length - 1)] = null;  // no thief can reach index b while t < b
+        }
+        return item;
+    }
+
+    // any thread: remove and return the item at the top, or null if the deque is empty or another
+    // thread won the race for it
+    public Item steal() {
+        long t = this.top.get();
+        long b = this.bottom;
+        if (t >= b) { return null; }
+        Object[] a = this.items;
+        Item item = itemAt(a, t);
+        if (!this.top.compareAndSet(t, t + 1)) { return null; }
+        return item;
+    }
+
+    // multithreaded stress test: one owner pushes and pops args[0] items (default 10^7) while args[1]
+    // thieves (default cores - 1) steal.  Checks every item was taken exactly once.
+    public static void main(String[] args) throws InterruptedException {
+        final int items = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int thieves = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        final StealingDeque<Integer> DQ = new StealingDeque<Integer>();
+        final AtomicIntegerArray taken = new AtomicIntegerArray(items);
+        final AtomicLong stolen = new AtomicLong();
+        final AtomicBoolean done = new AtomicBoolean(false);  // owner has pushed everything
+        Thread[] workers = new Thread[thieves];
+        for (int w = 0; w < thieves; w++) {
+            workers[w] = new Thread(new Runnable() {
+                public void run() {
+                    long mine = 0;
+                    while (true) {
+                        Integer v = DQ.steal();
+                        if (v != null) { taken.incrementAndGet(v); mine++; }
+                        else if (done.get() && DQ.isEmpty()) { break; }
+                    }
+                    stolen.addAndGet(mine);
+                }
+            });
+            workers[w].start();
+        }
+        long start = System.nanoTime();
+        long popped = 0;
+        for (int i = 0; i < items; i++) {
+            DQ.push(i);
+            if ((i & 3) == 3) {  // owner pops some of its own work back, racing thieves near the bottom
+                Integer v = DQ.pop();
+                if (v != null) { taken.incrementAndGet(v); popped++; }
+            }
+        }
+        for (Integer v = DQ.pop(); v != null; v = DQ.pop()) { taken.incrementAndGet(v); popped++; }
+        done.set(true);
+        for (Thread w : workers) { w.join(); }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int missing = 0, duplicated = 0;
+        for (int i = 0; i < items; i++) {
+            if (taken.get(i) == 0) { missing++; }
+            else if (taken.get(i) > 1) { duplicated++; }
+        }
+        System.out.printf("items: %d, popped: %d, stolen: %d by %d thieves in %.3fs%n", items, popped, stolen.get(), thieves, seconds);
+        System.out.printf("missing: %d, duplicated: %d -> %s%n", missing, duplicated, missing == 0 && duplicated == 0 ? "PASS" : "FAIL");
+        if (missing != 0 || duplicated != 0) { System.exit(1); }
+    }
+}
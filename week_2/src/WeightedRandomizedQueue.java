@@ -0,0 +1,197 @@
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Iterator;
+import edu.princeton.cs.algs4.StdIn;
+
+// A RandomizedQueue where each item is chosen with probability proportional to its weight.
+// Weights are kept in a Fenwick (binary indexed) tree over the item slots, so the prefix sums
+// needed to map a uniform draw in [0, total) to a slot cost O(log n), as does updating one weight.
+// Items are packed into the first N slots just like RandomizedQueue: a dequeued item is replaced by
+// the last one.  The arrays double when full and halve at 1/4 full; the tree is rebuilt in O(n) on
+// every resize, which also clears any floating point drift left by earlier removals.
+public class WeightedRandomizedQueue<Item> implements Iterable<Item> {
+    private Item[] items;
+    private double[] weight;
+    private double[] tree;     // 1-indexed Fenwick tree; tree[i] sums weight over (i - lowbit(i), i]
+    private int N = 0;
+    private final RandomSource rng;
+    private int modCount = 0; // bumped by every enqueue/dequeue so iterators can detect modification
+
+    // construct an empty weighted randomized queue
+    public WeightedRandomizedQueue() { this(RandomSource.stdRandom()); }
+
+    // construct an empty weighted randomized queue drawing from rng
+    public WeightedRandomizedQueue(RandomSource rng) {
+        if (rng == null) { throw new IllegalArgumentException("RandomSource must not be null."); }
+        this.rng = rng;
+        this.items = newArray(1);
+        this.weight = new double[1];
+        this.tree = new double[2];
+    }
+
+    // is the queue empty?
+    public boolean isEmpty() { return this.N == 0; }
+
+    // return the number of items on the queue
+    public int size() { return this.N; }
+
+    // return the sum of the weights of all items on the queue
+    public double totalWeight() { return prefix(this.N); }
+
+    private int length() { return items.length; }
+
+    // the only generic array allocation; the array never leaves this class, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] newArray(int len) { return (Item[]) new Object[len]; }
+
+    private void resize(int len) {
+        Item[] tmpItems = newArray(len);
+        double[] tmpWeight = new double[len];
+        System.arraycopy(this.items, 0, tmpItems, 0, this.N);
+        System.arraycopy(this.weight, 0, tmpWeight, 0, this.N);
+        this.items = tmpItems;
+        this.weight = tmpWeight;
+        this.tree = build(tmpWeight);
+    }
+
+    // O(n) Fenwick construction: each node pushes its sum to its parent
+    private static double[] build(double[] w) {
+        double[] t = new double[w.length + 1];
+        System.arraycopy(w, 0, t, 1, w.length);
+        for (int i = 1; i < t.length; i++) {
+            int j = i + (i & -i);
+            if (j < t.length) { t[j] += t[i]; }
+        }
+        return t;
+    }
+
+    // add delta to the weight of slot i in tree t
+    private static void add(double[] t, int i, double delta) {
+        for (i++; i < t.length; i += i & -i) { t[i] += delta; }
+    }
+
+    // sum of the weights of slots 0..n-1
+    private double prefix(int n) {
+        double sum = 0;
+        for (; n > 0; n -= n & -n) { sum += tree[n]; }
+        return sum;
+    }
+
+    // slot whose cumulative weight interval contains target, found by walking down tree t
+    private static int find(double[] t, double target, int n) {
+        int pos = 0;
+        for (int step = Integer.highestOneBit(t.length - 1); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < t.length && t[next] <= target) {
+                pos = next;
+                target -= t[next];
+            }
+        }
+        return Math.min(pos, n - 1); // rounding can push a draw at the very top past the last slot
+    }
+
+    // uniform double in [0, 1)
+    private double uniform() { return (rng.nextLong() >>> 11) * 0x1.0p-53; }
+
+    private int pick() { return find(this.tree, uniform() * totalWeight(), this.N); }
+
+    // add the item with the given weight
+    public void enqueue(Item item, double w) {
+        if (item == null) { throw new IllegalArgumentException("You cannot add a null item to the queue."); }
+        if (!(w > 0) || Double.isInfinite(w)) { throw new IllegalArgumentException("Weight must be positive and finite."); }
+        if (this.N == length()) { resize(length() * 2); }
+        this.items[this.N] = item;
+        this.weight[this.N] = w;
+        add(this.tree, this.N, w);
+        this.N++;
+        this.modCount++;
+    }
+
+    // remove and return an item, chosen with probability proportional to its weight
+    public Item dequeue() {
+        if (isEmpty()) { throw new NoSuchElementException("You cannot dequeue from an empty list."); }
+        int i = pick();
+        int last = --this.N;
+        this.modCount++;
+        Item elem = this.items[i];
+        if (i != last) { // fill in the removed slot with the last item so the slots stay packed
+            add(this.tree, i, this.weight[last] - this.weight[i]);
+            this.items[i] = this.items[last];
+            this.weight[i] = this.weight[last];
+        }
+        add(this.tree, last, -this.weight[last]);
+        this.items[last] = null;
+        this.weight[last] = 0;
+        if (this.N > 0 && this.N * 4 == length()) { resize(length() / 2); }
+        else if (this.N == 0) { this.tree = new double[this.tree.length]; } // drop any drift
+        return elem;
+    }
+
+    // return an item chosen with probability proportional to its weight (but do not remove it)
+    public Item sample() {
+        if (isEmpty()) { throw new NoSuchElementException("You cannot sample an empty list."); }
+        return this.items[pick()];
+    }
+
+    // return an independent iterator that draws items without replacement, weighted like dequeue
+    public Iterator<Item> iterator()
+        { return new WeightedIterator(); }
+
+    // Works on its own copy of the tree and zeroes each slot as it is drawn, so each next() is O(log n)
+    private class WeightedIterator implements Iterator<Item> {
+        private final int expectedModCount = modCount;
+        private final boolean[] drawn = new boolean[N];
+        private double[] t = tree.clone();
+        private double remaining = totalWeight();
+        private int left = N;
+        public boolean hasNext() { return left > 0; }
+        public void remove()     { throw new UnsupportedOperationException("Remove has not been implemented."); }
+        public Item next() {
+            if (left == 0) { throw new NoSuchElementException("You have iterated through the entire Queue."); }
+            if (modCount != expectedModCount) { throw new ConcurrentModificationException("Queue modified while iterating."); }
+            int i = find(t, uniform() * remaining, N);
+            if (drawn[i]) { // rounding drift steered the walk onto a drawn slot: rebuild exactly and redraw
+                double[] w = new double[tree.length - 1];
+                remaining = 0;
+                for (int j = 0; j < N; j++) {
+                    if (!drawn[j]) { w[j] = weight[j]; remaining += w[j]; }
+                }
+                t = build(w);
+                do { i = find(t, uniform() * remaining, N); } while (drawn[i]);
+            }
+            add(t, i, -weight[i]);
+            remaining -= weight[i];
+            drawn[i] = true;
+            left--;
+            return items[i];
+        }
+    }
+
+    public static void main(String[] args) {
+        WeightedRandomizedQueue<String> WQ = new WeightedRandomizedQueue<String>();
+            while (!StdIn.isEmpty()) {
+                String[] cmd =  StdIn.readLine().trim().split("\\s+", 3);
+                if (cmd[0].length() == 0) {
+                    System.out.printf("Warning - caught an empty line%n%n"); // tolerates an empty line
+                }
+                else {
+                    String op = cmd[0].toLowerCase();
+                    String arg = null; //arg purposely allowed to remain null for debugging
+                    if (cmd.length >= 2) { arg = cmd[1]; }
+                    if (op.contains("#"))            { System.out.println("#"); }
+                    else if (op.equals("isempty"))   { System.out.println( WQ.isEmpty() ? "Empty!" : "Not Empty" ); }
+                    else if (op.equals("size"))      { System.out.printf("size: %d%n", WQ.size() ); }
+                    else if (op.equals("total"))     { System.out.printf("total: %f%n", WQ.totalWeight() ); }
+                    else if (op.equals("enqueue")
+                             || op.equals("+"))      { double w = cmd.length == 3 ? Double.parseDouble(cmd[2]) : 1.0;
+                                                       WQ.enqueue(arg, w); System.out.printf("+ %s (%s)%n", arg, w); }
+                    else if (op.equals("dequeue")
+                             || op.equals("-"))      { System.out.printf("- %s%n", WQ.dequeue()); }
+                    else if (op.equals("sample"))    { System.out.printf("> %s%n", WQ.sample()); }
+                    else if (op.equals("iterate"))   { for (String v : WQ) { System.out.println("i: " + v);} }
+                    else if (op.equals("length"))    { System.out.printf("length: %d%n", WQ.length() ); }
+                    else                             { throw new UnsupportedOperationException("Invalid input"); }
+                }
+            }
+        }
+}
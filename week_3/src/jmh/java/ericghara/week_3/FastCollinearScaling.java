@@ -0,0 +1,48 @@
+package ericghara.week_3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// Wall time of one FastCollinearPoints search over n random points, sequential and on the common
+// fork-join pool, grouping by the double slopeOrder() comparator or by exact integer slope keys.
+// The search is O(n^2 log n), so each run is timed once rather than in a loop.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FastCollinearScaling {
+
+    @Param({"1000", "5000", "10000", "20000"})
+    public int n;
+
+    @Param({"false", "true"})
+    public boolean exact;
+
+    private Object points;
+
+    @Setup
+    public void setup() throws Throwable {
+        points = Week3.randomPoints(n, 42);
+    }
+
+    @Benchmark
+    public int Sequential() throws Throwable {
+        return (int) Week3.FAST_COUNT.invokeExact((Object) Week3.FAST_NEW.invokeExact(points, false, exact));
+    }
+
+    @Benchmark
+    public int Parallel() throws Throwable {
+        return (int) Week3.FAST_COUNT.invokeExact((Object) Week3.FAST_NEW.invokeExact(points, true, exact));
+    }
+
+}
@@ -0,0 +1,50 @@
+package ericghara.week_3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// Single threaded wall time of the O(n^2 log n) sort based FastCollinearPoints (with the slopeOrder()
+// comparator and with exact slope keys) against the O(n^2) expected HashCollinearPoints, on the same
+// n random points.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HashVsSortCollinear {
+
+    @Param({"1000", "5000", "10000"})
+    public int n;
+
+    private Object points;
+
+    @Setup
+    public void setup() throws Throwable {
+        points = Week3.randomPoints(n, 42);
+    }
+
+    @Benchmark
+    public int SortComparator() throws Throwable {
+        return (int) Week3.FAST_COUNT.invokeExact((Object) Week3.FAST_NEW.invokeExact(points, false, false));
+    }
+
+    @Benchmark
+    public int SortExact() throws Throwable {
+        return (int) Week3.FAST_COUNT.invokeExact((Object) Week3.FAST_NEW.invokeExact(points, false, true));
+    }
+
+    @Benchmark
+    public int Hash() throws Throwable {
+        return (int) Week3.HASH_COUNT.invokeExact((Object) Week3.HASH_NEW.invokeExact(points));
+    }
+
+}
@@ -1,13 +1,11 @@
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.StdDraw;
 import edu.princeton.cs.algs4.StdOut;
 
+import java.nio.IntBuffer;
 import java.util.Arrays;
-import java.util.List;
-import java.util.LinkedList;
 
 public class BruteCollinearPoints {
-    private List<LineSegment> collinears;
+    private SegmentBuffer collinears;
     private final int N;
 
     // Generates all unique 4 point combinations and adds
@@ -18,7 +16,7 @@ public class BruteCollinearPoints {
         Point[] ptSorted = points.clone();
         Arrays.sort(ptSorted);
         errorOnDuplicate(ptSorted);
-        collinears = new LinkedList<>();
+        collinears = new SegmentBuffer();
         for (int p = 0; p < N - 3; p++) {
             Point ptP = ptSorted[p];
             for (int q = p + 1; q < N - 2; q++ ) {
@@ -32,7 +30,7 @@ public class BruteCollinearPoints {
                             Point ptS = ptSorted[s];
                             double RS = ptR.slopeTo(ptS);
                             if (QR == RS) {
-                                collinears.add(new LineSegment(ptP, ptS));
+                                collinears.add(ptP, ptS);
                             }
                         }
                     }
@@ -64,20 +62,23 @@ public class BruteCollinearPoints {
 
     // the line segments
     public LineSegment[] segments() {
-        return collinears.toArray(new LineSegment[0]);
+        return collinears.toArray();
+    }
+
+    // the i-th line segment, without materializing the others
+    public LineSegment segment(int i) {
+        return collinears.get(i);
+    }
+
+    // read-only view of the segments' endpoints, 4 ints (x0, y0, x1, y1) per segment, without copying
+    public IntBuffer segmentCoordinates() {
+        return collinears.view();
     }
 
     public static void main(String[] args) {
         if (args.length == 0) { throw new IllegalArgumentException("No points input file was given."); }
-        // read the n points from a file
-        In in = new In(args[0]);
-        int n = in.readInt();
-        Point[] points = new Point[n];
-        for (int i = 0; i < n; i++) {
-            int x = in.readInt();
-            int y = in.readInt();
-            points[i] = new Point(x, y);
-        }
+        // read the points from a text file, or a binary one (.bin, see PointFile)
+        Point[] points = PointFile.readPoints(args[0]);
 
         // draw the points
         StdDraw.enableDoubleBuffering();
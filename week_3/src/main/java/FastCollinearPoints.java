@@ -1,53 +1,126 @@
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.List;
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import edu.princeton.cs.algs4.StdDraw;
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.StdOut;
 
 public class FastCollinearPoints {
     // finds all line segments containing 4 or more points
-    private Point[] aux, sortAux;
-    private List<LineSegment> collinears;  // where all found collinear segs are stored
+    private Point[] sortAux;
+    private SegmentBuffer collinears;  // where all found collinear segs are stored
     private final int N;  // points list length
-    public FastCollinearPoints(Point[] points) {
+    private static final int SPLIT = 16;  // parallel mode: anchors handled by one task without forking
+    private final boolean exact;  // use integer slope keys rather than the double slope comparator
+    // scratch arrays, one per thread that runs find() and reused by every range that thread runs;
+    // dropped with sortAux when the search is done
+    private ConcurrentHashMap<Thread, Point[]> auxes = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<Thread, long[]> keyArrays = new ConcurrentHashMap<>();
+    public FastCollinearPoints(Point[] points) { this(points, false); }
+
+    public FastCollinearPoints(Point[] points, boolean parallel) { this(points, parallel, false); }
+
+    // parallel: spread the anchor points over the common fork-join pool.  Finds the same segments in
+    // the same order as the sequential search.
+    // exactSlopes: group points by exact reduced-rational slope keys sorted as primitive longs instead
+    // of sorting Points with slopeOrder().  Finds the same segments, though the order among one anchor's
+    // segments may differ.  Falls back to slopeOrder() if the points span more than 32767 on either axis.
+    public FastCollinearPoints(Point[] points, boolean parallel, boolean exactSlopes) {
             // initialize and check edge cases
             errorOnNull(points);
             N = points.length;
             sortAux = points.clone();
             Arrays.sort(sortAux);
             errorOnDuplicate(sortAux);
-            aux = points.clone();
-            collinears = new LinkedList<>();
-            find(); // heart of algorithm
+            exact = exactSlopes && Point.slopeKeysExact(sortAux);
+            // heart of algorithm
+            collinears = parallel ? ForkJoinPool.commonPool().invoke(new FindTask(0, N)) : find(0, N);
+            sortAux = null;  // clean-up
+            auxes = null;
+            keyArrays = null;
+        }
+
+    // Finds collinear points for the anchors sortAux[lo, hi), in anchor order.  Each thread sorts its
+    // own scratch copy of the points, so calls on disjoint ranges can run concurrently.  The copy is
+    // only ever permuted, so it can be reused from one range to the next.
+    private SegmentBuffer find(int lo, int hi) {
+        SegmentBuffer found = new SegmentBuffer();
+        if (exact) {
+            long[] keys = keyArrays.computeIfAbsent(Thread.currentThread(), t -> new long[Math.max(0, N - 1)]);
+            for (int i = lo; i < hi; i++) { findExact(i, keys, found); }
+        } else {
+            Point[] aux = auxes.computeIfAbsent(Thread.currentThread(), t -> sortAux.clone());
+            for (int i = lo; i < hi; i++) { find(sortAux[i], aux, found); }
         }
+        return found;
+    }
 
-    // Finds collinear points
-    private void find() {
-        for (Point keyVal: sortAux) {
-            Arrays.sort(aux, keyVal.slopeOrder());
-            // lastSlope not a sentinel.  Comparison of keyVal to itself will always be -inf; see Points.slopeTo()
-            int L = 0; double lastSlope = Double.NEGATIVE_INFINITY;  //  sliding window to identify portions of list with equal slopes to keyVal
-            for (int R = 1; R < N; R++) {
-                double thisSlope = keyVal.slopeTo(aux[R]);
-                if (thisSlope != lastSlope) {
-                    lastSlope = thisSlope;
-                    if (R - L >= 3) { addCollinearSeg(keyVal, L, R); } // ie we have >=4 collinear points (these >=3 + 1 (keyVal))
-                    L = R;
+    // Each other point j becomes slopeKey << 32 | j.  Since sortAux is in coordinate order, sorting the
+    // keys groups points by slope with each group already in coordinate order, so a group's first
+    // and last entries are the ends of the segment and no Point comparisons are needed.
+    private void findExact(int anchor, long[] keys, SegmentBuffer found) {
+        Point keyVal = sortAux[anchor];
+        int n = 0;
+        for (int j = 0; j < N; j++) {
+            if (j != anchor) { keys[n++] = (long) keyVal.slopeKey(sortAux[j]) << 32 | j; }
+        }
+        Arrays.sort(keys, 0, n);
+        int L = 0;
+        for (int R = 1; R <= n; R++) {
+            if (R == n || (keys[R] >>> 32) != (keys[L] >>> 32)) {
+                // >=3 points + keyVal, and keyVal comes before all of them so the segment is reported once
+                if (R - L >= 3 && anchor < (int) keys[L]) {
+                    found.add(keyVal, sortAux[(int) keys[R - 1]]);
                 }
+                L = R;
             }
-            if (N - L >= 3) { addCollinearSeg(keyVal, L, N); } // if array ends with collinear block need to process
         }
-        aux = sortAux = null;  // clean-up
     }
 
-    private void addCollinearSeg(Point keyVal, int L, int R) {
+    private void find(Point keyVal, Point[] aux, SegmentBuffer found) {
+        Arrays.sort(aux, keyVal.slopeOrder());
+        // lastSlope not a sentinel.  Comparison of keyVal to itself will always be -inf; see Points.slopeTo()
+        int L = 0; double lastSlope = Double.NEGATIVE_INFINITY;  //  sliding window to identify portions of list with equal slopes to keyVal
+        for (int R = 1; R < N; R++) {
+            double thisSlope = keyVal.slopeTo(aux[R]);
+            if (thisSlope != lastSlope) {
+                lastSlope = thisSlope;
+                if (R - L >= 3) { addCollinearSeg(keyVal, aux, L, R, found); } // ie we have >=4 collinear points (these >=3 + 1 (keyVal))
+                L = R;
+            }
+        }
+        if (N - L >= 3) { addCollinearSeg(keyVal, aux, L, N, found); } // if array ends with collinear block need to process
+    }
+
+    private void addCollinearSeg(Point keyVal, Point[] aux, int L, int R, SegmentBuffer found) {
         // Re-sorts collinear block of array based on coordinates *Not* slope
         Arrays.sort(aux, L,R);
         // if (true): unique combination based on this list block being sorted by coordinate
         // and keyVal being a coordinate sorted array ; duplicates will be >=0
         if (keyVal.compareTo(aux[L]) < 0)
-            collinears.add(new LineSegment(keyVal, aux[R - 1]));
+            found.add(keyVal, aux[R - 1]);
+    }
+
+    // Halves the anchor range until it is at most SPLIT anchors, then joins the halves left to right
+    // so the merged list is in the same anchor order as the sequential find
+    private class FindTask extends RecursiveTask<SegmentBuffer> {
+        private static final long serialVersionUID = 1L;
+        private final int lo, hi;
+        FindTask(int lo, int hi) { this.lo = lo; this.hi = hi; }
+
+        @Override
+        protected SegmentBuffer compute() {
+            if (hi - lo <= SPLIT) { return find(lo, hi); }
+            int mid = (lo + hi) >>> 1;
+            FindTask left = new FindTask(lo, mid);
+            left.fork();
+            SegmentBuffer right = new FindTask(mid, hi).compute();
+            SegmentBuffer found = left.join();
+            found.addAll(right);
+            return found;
+        }
     }
 
     private void errorOnNull(Point[] points) {
@@ -66,6 +139,11 @@ public class FastCollinearPoints {
         }
     }
 
+    // the found segments, for searches that fall back to this one (see HashCollinearPoints)
+    SegmentBuffer segmentBuffer() {
+        return this.collinears;
+    }
+
     // the number of line segments
     public int numberOfSegments() {
         return this.collinears.size();
@@ -73,21 +151,24 @@ public class FastCollinearPoints {
 
     // the line segments
     public LineSegment[] segments() {
-        return collinears.toArray(new LineSegment[0]);
+        return collinears.toArray();
+    }
+
+    // the i-th line segment, without materializing the others
+    public LineSegment segment(int i) {
+        return collinears.get(i);
+    }
+
+    // read-only view of the segments' endpoints, 4 ints (x0, y0, x1, y1) per segment, without copying
+    public IntBuffer segmentCoordinates() {
+        return collinears.view();
     }
 
     // Client provided by instructor
     public static void main(String[] args) {
-        if (args.length == 0) { throw new IllegalArgumentException("No points input file was given."); }
-        // read the n points from a file
-        In in = new In(args[0]);
-        int n = in.readInt();
-        Point[] points = new Point[n];
-        for (int i = 0; i < n; i++) {
-            int x = in.readInt();
-            int y = in.readInt();
-            points[i] = new Point(x, y);
-        }
+        if (args.length == 0) { throw new IllegalArgumentException("No points input file was given (optionally followed by parallel and/or exact)."); }
+        // read the points from a text file, or a binary one (.bin, see PointFile)
+        Point[] points = PointFile.readPoints(args[0]);
 
         // draw the points
         StdDraw.enableDoubleBuffering();
@@ -99,7 +180,8 @@ public class FastCollinearPoints {
         StdDraw.show();
 
         // print and draw the line segments
-        FastCollinearPoints collinear = new FastCollinearPoints(points);
+        List<String> flags = Arrays.asList(args).subList(1, args.length);
+        FastCollinearPoints collinear = new FastCollinearPoints(points, flags.contains("parallel"), flags.contains("exact"));
         int cnt = 0;
         for (LineSegment segment : collinear.segments()) {
             StdOut.println(segment);
@@ -0,0 +1,109 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import edu.princeton.cs.algs4.StdDraw;
+import edu.princeton.cs.algs4.StdOut;
+
+// Finds the same maximal segments as FastCollinearPoints in O(n^2) expected time.  Instead of sorting
+// the other points by slope for every anchor, they are bucketed by their exact Point.slopeKey() in a
+// primitive hash table (SlopeGroups), tagged with their index in coordinate order, so each bucket's
+// least and greatest index are the ends of its segment.  The segments are the same as
+// FastCollinearPoints', though not necessarily in the same order.  Slope keys are only exact for points
+// spanning at most 32767 on each axis (see Point.slopeKeysExact()); wider inputs fall back to the
+// sort-based FastCollinearPoints search, which has no such limit.
+public class HashCollinearPoints {
+    private SegmentBuffer collinears;  // where all found collinear segs are stored
+    private final int N;  // points list length
+
+    public HashCollinearPoints(Point[] points) {
+        // initialize and check edge cases
+        errorOnNull(points);
+        N = points.length;
+        Point[] sortAux = points.clone();
+        Arrays.sort(sortAux);
+        errorOnDuplicate(sortAux);
+        if (Point.slopeKeysExact(sortAux)) {
+            collinears = new SegmentBuffer();
+            find(sortAux);
+        }
+        else { collinears = new FastCollinearPoints(sortAux).segmentBuffer(); }
+    }
+
+    private void find(Point[] sortAux) {
+        SlopeGroups groups = new SlopeGroups(N);
+        for (int anchor = 0; anchor < N; anchor++) {
+            Point keyVal = sortAux[anchor];
+            groups.clear();
+            for (int j = 0; j < N; j++) {
+                if (j != anchor) { groups.add(keyVal.slopeKey(sortAux[j]), j); }
+            }
+            for (int g = 0; g < groups.groups(); g++) {
+                // >=3 points + keyVal, and keyVal comes before all of them so the segment is reported once
+                if (groups.count(g) >= 3 && anchor < groups.min(g)) {
+                    collinears.add(keyVal, sortAux[groups.max(g)]);
+                }
+            }
+        }
+    }
+
+    private void errorOnNull(Point[] points) {
+        if (points == null)  // null array
+            throw new IllegalArgumentException("Received null input.");
+        for (Point p : points) { // null element in array
+            if (p == null) { throw new IllegalArgumentException("Found a null value point."); }
+        }
+    }
+
+    // returns sorted list with no duplicates
+    private void errorOnDuplicate(Point[] ptSorted) {
+        for (int i = 0; i < N-1; i++) {
+            if ( ptSorted[i].compareTo(ptSorted[i+1] ) == 0 )
+                throw new IllegalArgumentException("Found a duplicate point");
+        }
+    }
+
+    // the number of line segments
+    public int numberOfSegments() {
+        return this.collinears.size();
+    }
+
+    // the line segments
+    public LineSegment[] segments() {
+        return collinears.toArray();
+    }
+
+    // the i-th line segment, without materializing the others
+    public LineSegment segment(int i) {
+        return collinears.get(i);
+    }
+
+    // read-only view of the segments' endpoints, 4 ints (x0, y0, x1, y1) per segment, without copying
+    public IntBuffer segmentCoordinates() {
+        return collinears.view();
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) { throw new IllegalArgumentException("No points input file was given."); }
+        // read the points from a text file, or a binary one (.bin, see PointFile)
+        Point[] points = PointFile.readPoints(args[0]);
+
+        // draw the points
+        StdDraw.enableDoubleBuffering();
+        StdDraw.setXscale(0, 32768);
+        StdDraw.setYscale(0, 32768);
+        for (Point p : points) {
+            p.draw();
+        }
+        StdDraw.show();
+
+        // print and draw the line segments
+        HashCollinearPoints collinear = new HashCollinearPoints(points);
+        int cnt = 0;
+        for (LineSegment segment : collinear.segments()) {
+            StdOut.println(segment);
+            segment.draw();
+            cnt ++;
+        }
+        StdOut.println("Found segs:" + cnt);
+        StdDraw.show();
+    }
+}
@@ -0,0 +1,166 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import edu.princeton.cs.algs4.StdDraw;
+import edu.princeton.cs.algs4.StdOut;
+
+// Maintains the maximal segments of 4 or more collinear points while points are added one at a time,
+// instead of recomputing them from scratch.  add() groups the existing points by their exact
+// Point.slopeKey() from the new point (SlopeGroups), which is O(n) expected.  Every group with 3 or
+// more points is a line through the new point with 4 or more points.  Lines are kept in a primitive
+// hash table keyed by the line itself, so the new point either extends the line already stored for
+// that group or creates it.  Coordinates must be between 0 and 32767, as in the assignment.
+public class IncrementalCollinearPoints {
+    private static final int MAX_COORD = 32767;
+    private int[] points = new int[8];  // packed coordinates of the points added so far, see pack()
+    private int N = 0;  // number of points added
+    private SlopeGroups groups = new SlopeGroups(8);
+    private final LineMap lines = new LineMap();
+
+    public IncrementalCollinearPoints() { }
+
+    // Packed so that comparing packed values compares points like Point.compareTo(): by y, then x
+    private static int pack(int x, int y) { return y << 15 | x; }
+    private static int x(int packed) { return packed & MAX_COORD; }
+    private static int y(int packed) { return packed >>> 15; }
+
+    // add the point, updating the segments it lies on
+    public void add(Point p) {
+        if (p == null) { throw new IllegalArgumentException("Received null input."); }
+        int px = p.x(), py = p.y();
+        if (px < 0 || px > MAX_COORD || py < 0 || py > MAX_COORD) {
+            throw new IllegalArgumentException("Point coordinates must be between 0 and 32767.");
+        }
+        int packed = pack(px, py);
+        groups.clear();
+        for (int i = 0; i < N; i++) {
+            int dx = x(points[i]) - px, dy = y(points[i]) - py;
+            if (dx == 0 && dy == 0) { throw new IllegalArgumentException("Found a duplicate point"); }
+            groups.add(Point.slopeKey(dx, dy), points[i]);
+        }
+        for (int g = 0; g < groups.groups(); g++) {
+            if (groups.count(g) >= 3) { lines.extend(lineKey(px, py, groups.max(g)), groups.min(g), groups.max(g), packed); }
+        }
+        if (N == points.length) {
+            points = Arrays.copyOf(points, N * 2);
+            groups = new SlopeGroups(N * 2);
+        }
+        points[N++] = packed;
+    }
+
+    // The line through (px, py) and the point other, as its slope key and its intercept term
+    // c = dy*x - dx*y for the reduced slope (which is the same for every point on the line).
+    // |c| <= 2 * 32767^2 < 2^31, so c fits in an int.
+    private static long lineKey(int px, int py, int other) {
+        int key = Point.slopeKey(x(other) - px, y(other) - py);
+        int dx = key & 0xffff, dy = (key >>> 16) - 32768;
+        int c = dy * px - dx * py;
+        return (long) key << 32 | (c & 0xffffffffL);
+    }
+
+    // the number of points added
+    public int size() { return N; }
+
+    // the number of line segments
+    public int numberOfSegments() { return lines.size(); }
+
+    // the current maximal line segments
+    public LineSegment[] segments() {
+        return snapshot().toArray();
+    }
+
+    // read-only view of the current segments' endpoints, 4 ints (x0, y0, x1, y1) per segment.  Later
+    // calls to add() are not reflected in it.
+    public IntBuffer segmentCoordinates() {
+        return snapshot().view();
+    }
+
+    private SegmentBuffer snapshot() {
+        SegmentBuffer segs = new SegmentBuffer();
+        for (int slot = 0; slot < lines.capacity(); slot++) {
+            if (lines.used(slot)) {
+                int min = lines.min(slot), max = lines.max(slot);
+                segs.add(x(min), y(min), x(max), y(max));
+            }
+        }
+        return segs;
+    }
+
+    // Open addressing table from line key to the packed ends of the line's segment; grows at 50% load.
+    private static class LineMap {
+        private long[] keys = new long[16];
+        private int[] min = new int[16], max = new int[16];
+        private boolean[] used = new boolean[16];
+        private int size = 0;
+
+        int size() { return size; }
+        int capacity() { return keys.length; }
+        boolean used(int slot) { return used[slot]; }
+        int min(int slot) { return min[slot]; }
+        int max(int slot) { return max[slot]; }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (used[slot] && keys[slot] != key) { slot = (slot + 1) & mask; }
+            return slot;
+        }
+
+        // create the line (with ends lo and hi) if it is new, then extend it to include point
+        void extend(long key, int lo, int hi, int point) {
+            int slot = slot(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                min[slot] = lo;
+                max[slot] = hi;
+                if (++size * 2 > keys.length) { grow(); slot = slot(key); }
+            }
+            if (point < min[slot]) { min[slot] = point; }
+            if (point > max[slot]) { max[slot] = point; }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldMin = min, oldMax = max;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            min = new int[keys.length];
+            max = new int[keys.length];
+            used = new boolean[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i]) { continue; }
+                int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                min[slot] = oldMin[i];
+                max[slot] = oldMax[i];
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) { throw new IllegalArgumentException("No points input file was given."); }
+        // read the points from a text file, or a binary one (.bin, see PointFile), adding them one at a time
+        int[] coords = PointFile.readCoordinates(args[0]);
+        IncrementalCollinearPoints collinear = new IncrementalCollinearPoints();
+        StdDraw.enableDoubleBuffering();
+        StdDraw.setXscale(0, 32768);
+        StdDraw.setYscale(0, 32768);
+        for (int i = 0; i < coords.length; i += 2) {
+            Point p = new Point(coords[i], coords[i + 1]);
+            p.draw();
+            collinear.add(p);
+        }
+        StdDraw.show();
+
+        // print and draw the line segments
+        int cnt = 0;
+        for (LineSegment segment : collinear.segments()) {
+            StdOut.println(segment);
+            segment.draw();
+            cnt ++;
+        }
+        StdOut.println("Found segs:" + cnt);
+        StdDraw.show();
+    }
+}
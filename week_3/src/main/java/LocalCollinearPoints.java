@@ -0,0 +1,232 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import edu.princeton.cs.algs4.StdDraw;
+import edu.princeton.cs.algs4.StdOut;
+
+// Finds maximal runs of 4 or more collinear points in which each point is within window of the next
+// one on the line (Chebyshev distance: |dx| <= window and |dy| <= window).  A run ends at a gap wider
+// than window, even if the line carries on past it.  For clustered data this is much cheaper than the
+// global search.  Points are bucketed into a uniform grid of window x window cells, so each anchor is
+// only compared with the points in its own and the 8 neighbouring cells, and the cost follows local
+// density rather than n^2.
+//
+// For every anchor and slope, the neighbours are split into those before the anchor in coordinate
+// order and those after it.  The nearest one after is the anchor's next point on that line.  A run
+// starts at an anchor with a next point but nothing before it, and is traced by following the next
+// points.  Points may not span more than 32767 on either axis (see Point.slopeKeysExact()).
+public class LocalCollinearPoints {
+    private final SegmentBuffer collinears;  // where all found collinear segs are stored
+    private final int N;  // points list length
+    private final int window;
+    private Point[] sortAux;  // points in coordinate order; a point's index here is its rank
+    private long[] byCell;    // cell key << 32 | rank, sorted: the points of a cell are contiguous
+    private int minX, minY;   // grid origin
+
+    // window bounds the gap between consecutive points of a run, not the length of the whole segment: a
+    // run of closely spaced points is reported however far it extends.  A gap bound is what the grid
+    // search can check locally (each step looks only at neighbouring cells); bounding the whole segment
+    // would mean splitting long runs into overlapping windows, which are no longer maximal segments.
+    public LocalCollinearPoints(Point[] points, int window) {
+        // initialize and check edge cases
+        errorOnNull(points);
+        if (window < 1) { throw new IllegalArgumentException("Window must be >= 1."); }
+        N = points.length;
+        this.window = window;
+        sortAux = points.clone();
+        Arrays.sort(sortAux);
+        errorOnDuplicate(sortAux);
+        if (!Point.slopeKeysExact(sortAux)) {
+            throw new IllegalArgumentException("Points may not span more than 32767 on either axis.");
+        }
+        collinears = new SegmentBuffer();
+        buildGrid();
+        find();
+        sortAux = null;  // clean-up
+        byCell = null;
+    }
+
+    // cells are numbered from the grid origin; each axis has at most 32768 cells, so a cell (with room
+    // for the cy + 2 bound in find()) fits in 31 bits
+    private int cellX(int x) { return (x - minX) / window; }
+    private int cellY(int y) { return (y - minY) / window; }
+    private static long cell(int cx, int cy) { return (long) cx << 16 | cy; }
+
+    private void buildGrid() {
+        minX = minY = Integer.MAX_VALUE;
+        for (Point p : sortAux) {
+            minX = Math.min(minX, p.x());
+            minY = Math.min(minY, p.y());
+        }
+        byCell = new long[N];
+        for (int i = 0; i < N; i++) {
+            byCell[i] = cell(cellX(sortAux[i].x()), cellY(sortAux[i].y())) << 32 | i;
+        }
+        Arrays.sort(byCell);
+    }
+
+    // first index of byCell whose cell is >= c
+    private int lowerBound(long c) {
+        int lo = 0, hi = N;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if ((byCell[mid] >>> 32) < c) { lo = mid + 1; }
+            else { hi = mid; }
+        }
+        return lo;
+    }
+
+    private void find() {
+        SlopeGroups before = new SlopeGroups(N), after = new SlopeGroups(N);
+        NextMap next = new NextMap();
+        long[] starts = new long[16];  // rank << 32 | slope key of each run's first point
+        int nStarts = 0;
+        for (int a = 0; a < N; a++) {
+            Point keyVal = sortAux[a];
+            int ax = keyVal.x(), ay = keyVal.y(), cx = cellX(ax), cy = cellY(ay);
+            before.clear();
+            after.clear();
+            // the cells (cx + dx, cy - 1 .. cy + 1) are adjacent in cell order, so one range per column
+            for (int dx = -1; dx <= 1; dx++) {
+                if (cx + dx < 0) { continue; }
+                int hi = lowerBound(cell(cx + dx, cy + 2));
+                for (int i = lowerBound(cell(cx + dx, Math.max(0, cy - 1))); i < hi; i++) {
+                    int j = (int) byCell[i];
+                    int ddx = sortAux[j].x() - ax, ddy = sortAux[j].y() - ay;
+                    if (j == a || Math.abs(ddx) > window || Math.abs(ddy) > window) { continue; }
+                    if (j > a) { after.add(Point.slopeKey(ddx, ddy), j); }
+                    else       { before.add(Point.slopeKey(ddx, ddy), j); }
+                }
+            }
+            for (int g = 0; g < after.groups(); g++) {
+                int key = after.key(g);
+                next.put(a, key, after.min(g));  // nearest point after the anchor on this line
+                if (before.find(key) < 0) {
+                    if (nStarts == starts.length) { starts = Arrays.copyOf(starts, nStarts * 2); }
+                    starts[nStarts++] = (long) a << 32 | (key & 0xffffffffL);
+                }
+            }
+        }
+        for (int s = 0; s < nStarts; s++) {
+            int first = (int) (starts[s] >>> 32), key = (int) starts[s];
+            int last = first, count = 1;
+            for (int n = next.get(first, key); n >= 0; n = next.get(n, key)) {
+                last = n;
+                count++;
+            }
+            if (count >= 4) { collinears.add(sortAux[first], sortAux[last]); }
+        }
+    }
+
+    // Open addressing table from (rank, slope key) to the rank of the next point on that line; grows at
+    // 50% load.
+    private static class NextMap {
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private boolean[] used = new boolean[16];
+        private int size = 0;
+
+        private static long key(int rank, int slopeKey) { return (long) rank << 32 | (slopeKey & 0xffffffffL); }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (used[slot] && keys[slot] != key) { slot = (slot + 1) & mask; }
+            return slot;
+        }
+
+        // the next point after rank on the line with slopeKey, or -1 if none is within the window
+        int get(int rank, int slopeKey) {
+            int slot = slot(key(rank, slopeKey));
+            return used[slot] ? values[slot] : -1;
+        }
+
+        // each (rank, slopeKey) is put once
+        void put(int rank, int slopeKey, int value) {
+            long key = key(rank, slopeKey);
+            int slot = slot(key);
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) { grow(); }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[keys.length];
+            used = new boolean[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i]) { continue; }
+                int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void errorOnNull(Point[] points) {
+        if (points == null)  // null array
+            throw new IllegalArgumentException("Received null input.");
+        for (Point p : points) { // null element in array
+            if (p == null) { throw new IllegalArgumentException("Found a null value point."); }
+        }
+    }
+
+    // returns sorted list with no duplicates
+    private void errorOnDuplicate(Point[] ptSorted) {
+        for (int i = 0; i < N-1; i++) {
+            if ( ptSorted[i].compareTo(ptSorted[i+1] ) == 0 )
+                throw new IllegalArgumentException("Found a duplicate point");
+        }
+    }
+
+    // the number of line segments
+    public int numberOfSegments() {
+        return this.collinears.size();
+    }
+
+    // the line segments
+    public LineSegment[] segments() {
+        return collinears.toArray();
+    }
+
+    // the i-th line segment, without materializing the others
+    public LineSegment segment(int i) {
+        return collinears.get(i);
+    }
+
+    // read-only view of the segments' endpoints, 4 ints (x0, y0, x1, y1) per segment, without copying
+    public IntBuffer segmentCoordinates() {
+        return collinears.view();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) { throw new IllegalArgumentException("Give a points input file and a window."); }
+        // read the points from a text file, or a binary one (.bin, see PointFile)
+        Point[] points = PointFile.readPoints(args[0]);
+        int window = Integer.parseInt(args[1]);
+
+        // draw the points
+        StdDraw.enableDoubleBuffering();
+        StdDraw.setXscale(0, 32768);
+        StdDraw.setYscale(0, 32768);
+        for (Point p : points) {
+            p.draw();
+        }
+        StdDraw.show();
+
+        // print and draw the line segments
+        LocalCollinearPoints collinear = new LocalCollinearPoints(points, window);
+        int cnt = 0;
+        for (LineSegment segment : collinear.segments()) {
+            StdOut.println(segment);
+            segment.draw();
+            cnt ++;
+        }
+        StdOut.println("Found segs:" + cnt);
+        StdDraw.show();
+    }
+}
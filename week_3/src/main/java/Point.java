@@ -70,6 +70,45 @@ public class Point implements Comparable<Point> {
 
     }
 
+    /**
+     * Returns an exact key for the slope between this point and the specified point:
+     * two points get equal keys from this point if and only if they have the same slope to it.
+     * The slope is kept as the rational dy/dx reduced to lowest terms with dx &gt;= 0
+     * (horizontal is 0/1, vertical is 1/0, and an equal point is 0/0), packed as
+     * ((dy + 32768) &lt;&lt; 16) | dx.  Keys are not ordered like slopes.
+     * Requires |dx| and |dy| &lt;= 32767, which holds for coordinates between 0 and 32767.
+     *
+     * @param  that the other point
+     * @return the packed reduced slope between this point and the specified point
+     */
+    int slopeKey(Point that) {
+        return slopeKey(that.x - this.x, that.y - this.y);
+    }
+
+    // slopeKey() from the coordinate differences
+    static int slopeKey(int dx, int dy) {
+        if (dx < 0 || (dx == 0 && dy < 0)) { dx = -dx; dy = -dy; }
+        int a = dx, b = Math.abs(dy);
+        while (b != 0) { int t = a % b; a = b; b = t; } // gcd; 0 only for an equal point
+        if (a > 1) { dx /= a; dy /= a; }
+        return ((dy + 32768) << 16) | dx;
+    }
+
+    // true if slopeKey() is exact between every pair of points: neither axis spans more than 32767
+    static boolean slopeKeysExact(Point[] points) {
+        if (points.length == 0) { return true; }
+        int minX = points[0].x, maxX = minX, minY = points[0].y, maxY = minY;
+        for (Point p : points) {
+            minX = Math.min(minX, p.x); maxX = Math.max(maxX, p.x);
+            minY = Math.min(minY, p.y); maxY = Math.max(maxY, p.y);
+        }
+        return (long) maxX - minX <= 32767 && (long) maxY - minY <= 32767;
+    }
+
+    // package-private coordinate accessors for the collinear searches
+    int x() { return x; }
+    int y() { return y; }
+
     /**
      * Compares two points by y-coordinate, breaking ties by x-coordinate.
      * Formally, the invoking point (x0, y0) is less than the argument point
@@ -0,0 +1,92 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import edu.princeton.cs.algs4.In;
+
+// Loads point files for the collinear clients.  Besides the assignment's text format (n, then n
+// "x y" pairs) it reads a compact binary format, chosen by a ".bin" extension: the int n followed by
+// n (x, y) int pairs, all little-endian.  A binary file is memory mapped and bulk copied into an int[],
+// so no tokens are parsed.
+//
+// Converts text files to binary: java PointFile input.txt output.bin
+public class PointFile {
+    private static final int HEADER = Integer.BYTES;
+    private static final long CHUNK = 1 << 30;  // bytes mapped at a time when writing; a multiple of 4
+
+    private PointFile() { }
+
+    // the coordinates in path as x0, y0, x1, y1, ...
+    public static int[] readCoordinates(String path) {
+        if (path == null) { throw new IllegalArgumentException("Received null input."); }
+        return path.endsWith(".bin") ? readBinary(Paths.get(path)) : readText(path);
+    }
+
+    // the points in path
+    public static Point[] readPoints(String path) {
+        int[] coords = readCoordinates(path);
+        Point[] points = new Point[coords.length / 2];
+        for (int i = 0; i < points.length; i++) { points[i] = new Point(coords[2 * i], coords[2 * i + 1]); }
+        return points;
+    }
+
+    private static int[] readText(String path) {
+        int[] all = new In(path).readAllInts();
+        if (all.length == 0 || all[0] < 0 || all.length != 1 + 2L * all[0]) {
+            throw new IllegalArgumentException("Malformed point file: " + path);
+        }
+        int[] coords = new int[all.length - 1];
+        System.arraycopy(all, 1, coords, 0, coords.length);
+        return coords;
+    }
+
+    private static int[] readBinary(Path path) {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER) { throw new IllegalArgumentException("Malformed point file: " + path); }
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            int n = map.getInt(0);
+            if (n < 0 || size != HEADER + 8L * n) { throw new IllegalArgumentException("Malformed point file: " + path); }
+            map.position(HEADER);
+            int[] coords = new int[2 * n];
+            map.asIntBuffer().get(coords);
+            return coords;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // write coords (x0, y0, x1, y1, ...) to path in the binary format.  The file is memory mapped and
+    // filled a CHUNK at a time, so nothing but coords itself is held on the heap.
+    public static void writeBinary(String path, int[] coords) {
+        if (path == null || coords == null) { throw new IllegalArgumentException("Received null input."); }
+        if (coords.length % 2 != 0) { throw new IllegalArgumentException("Coordinates must come in (x, y) pairs."); }
+        long size = HEADER + (long) Integer.BYTES * coords.length;
+        try (FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int next = 0;  // index in coords of the next int to write
+            for (long pos = 0; pos < size; pos += CHUNK) {
+                MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, pos, Math.min(CHUNK, size - pos));
+                map.order(ByteOrder.LITTLE_ENDIAN);
+                if (pos == 0) { map.putInt(coords.length / 2); }
+                int count = map.remaining() / Integer.BYTES;
+                map.asIntBuffer().put(coords, next, count);
+                next += count;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) { throw new IllegalArgumentException("Usage: PointFile input.txt output.bin"); }
+        int[] coords = readCoordinates(args[0]);
+        writeBinary(args[1], coords);
+        System.out.printf("Wrote %d points to %s%n", coords.length / 2, args[1]);
+    }
+}
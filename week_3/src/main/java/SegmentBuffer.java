@@ -0,0 +1,51 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+// Growable store of line segments as packed endpoint coordinates: segment i is
+// coords[4i..4i+3] = x0, y0, x1, y1.  The collinear searches record results here instead of in a
+// List<LineSegment>, so a segment costs 16 bytes.  LineSegment objects are built only when a caller
+// asks for them and are not kept, so the buffer stays packed; their endpoints are new Points with the
+// segment's coordinates, not the Point instances the search was given.
+class SegmentBuffer {
+    private int[] coords = new int[32];
+    private int n = 0;  // number of segments
+
+    void add(Point p, Point q) { add(p.x(), p.y(), q.x(), q.y()); }
+
+    void add(int x0, int y0, int x1, int y1) {
+        if (4 * n == coords.length) { coords = Arrays.copyOf(coords, coords.length * 2); }
+        int i = 4 * n++;
+        coords[i] = x0;
+        coords[i + 1] = y0;
+        coords[i + 2] = x1;
+        coords[i + 3] = y1;
+    }
+
+    // append every segment of other, in order
+    void addAll(SegmentBuffer other) {
+        int len = 4 * (n + other.n);
+        if (len > coords.length) { coords = Arrays.copyOf(coords, Math.max(len, coords.length * 2)); }
+        System.arraycopy(other.coords, 0, coords, 4 * n, 4 * other.n);
+        n += other.n;
+    }
+
+    int size() { return n; }
+
+    // read-only view of the packed coordinates, 4 ints per segment; no copy is made, so the view sees
+    // the current contents until the buffer next grows
+    IntBuffer view() { return IntBuffer.wrap(coords, 0, 4 * n).slice().asReadOnlyBuffer(); }
+
+    // a new LineSegment for segment i
+    LineSegment get(int i) {
+        if (i < 0 || i >= n) { throw new IndexOutOfBoundsException("Segment " + i + " of " + n); }
+        int j = 4 * i;
+        return new LineSegment(new Point(coords[j], coords[j + 1]), new Point(coords[j + 2], coords[j + 3]));
+    }
+
+    // every segment, built on demand into a new array
+    LineSegment[] toArray() {
+        LineSegment[] segs = new LineSegment[n];
+        for (int i = 0; i < n; i++) { segs[i] = get(i); }
+        return segs;
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.Arrays;
+
+// Groups the points seen from one anchor by Point.slopeKey(), for the hash based collinear search.
+// An open addressing table (linear probing, Fibonacci hashing) maps each slope key to a group number;
+// per group it keeps its key, the number of points and the least and greatest of the values added with them.  Every array is
+// primitive, and clear() only bumps a generation stamp, so reusing it for the next anchor costs O(1)
+// rather than O(capacity).
+class SlopeGroups {
+    private final int[] keys, groupOf, stamp;      // table slot -> key, its group, generation it was set in
+    private final int mask, shift;
+    private int generation = 1;
+    private final int[] groupKey, count, min, max;  // indexed by group, in order of first appearance
+    private int groups = 0;
+
+    // room for up to maxPoints points (and so at most that many groups) per anchor
+    SlopeGroups(int maxPoints) {
+        int capacity = Integer.highestOneBit(Math.max(2, maxPoints) * 2 - 1) << 1;  // at most 50% load
+        keys = new int[capacity];
+        groupOf = new int[capacity];
+        stamp = new int[capacity];
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        groupKey = new int[Math.max(1, maxPoints)];
+        count = new int[groupKey.length];
+        min = new int[count.length];
+        max = new int[count.length];
+    }
+
+    // forget every group
+    void clear() {
+        groups = 0;
+        if (++generation == 0) {  // stamps wrapped: slots set 2^32 generations ago would look current
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    // add a point to the group for key and return that group.  value identifies the point and is
+    // chosen by the caller so that ordering values orders points along a line (an index into a
+    // coordinate sorted array, or a packed coordinate).
+    int add(int key, int value) {
+        int slot = (key * 0x9E3779B9) >>> shift;
+        while (stamp[slot] == generation) {
+            if (keys[slot] == key) {
+                int g = groupOf[slot];
+                count[g]++;
+                if (value < min[g]) { min[g] = value; }
+                if (value > max[g]) { max[g] = value; }
+                return g;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int g = groups++;
+        stamp[slot] = generation;
+        keys[slot] = key;
+        groupOf[slot] = g;
+        groupKey[g] = key;
+        count[g] = 1;
+        min[g] = max[g] = value;
+        return g;
+    }
+
+    // the group for key, or -1 if no point has been added with it since the last clear()
+    int find(int key) {
+        int slot = (key * 0x9E3779B9) >>> shift;
+        while (stamp[slot] == generation) {
+            if (keys[slot] == key) { return groupOf[slot]; }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // number of groups since the last clear()
+    int groups() { return groups; }
+
+    int key(int group) { return groupKey[group]; }
+
+    int count(int group) { return count[group]; }
+
+    int min(int group) { return min[group]; }
+
+    int max(int group) { return max[group]; }
+}